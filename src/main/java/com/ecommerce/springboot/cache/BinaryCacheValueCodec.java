@@ -0,0 +1,338 @@
+package com.ecommerce.springboot.cache;
+
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding for {@link InventoryItemResponse} and
+ * {@link InventoryPage}; anything else falls back to JDK serialization.
+ * <p>
+ * Layout: magic, format version, type tag, payload. An item is a presence
+ * bitmask followed by the non-null fields as zigzag varints, length-prefixed
+ * UTF-8 strings, {@code BigDecimal} as scale plus unscaled value and
+ * {@code LocalDateTime} as epoch seconds plus nanos. Entries written with
+ * another version decode to {@code null}, so during a rolling deploy they are
+ * simply reloaded.
+ */
+@Slf4j
+public class BinaryCacheValueCodec implements CacheValueCodec {
+
+    private static final byte MAGIC = (byte) 0xB1;
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_JDK = 0;
+    private static final byte TYPE_ITEM = 1;
+    private static final byte TYPE_PAGE = 2;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private final CacheValueCodec fallback = new JdkCacheValueCodec();
+
+    @Override
+    public byte[] encode(Object value) {
+        Output out = new Output(128);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        if (value instanceof InventoryItemResponse item) {
+            out.writeByte(TYPE_ITEM);
+            writeItem(out, item);
+        } else if (value instanceof InventoryPage page) {
+            out.writeByte(TYPE_PAGE);
+            writePage(out, page);
+        } else {
+            out.writeByte(TYPE_JDK);
+            out.writeBytes(fallback.encode(value));
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH || bytes[0] != MAGIC || bytes[1] != VERSION) {
+            return null;
+        }
+
+        try {
+            Input in = new Input(bytes, HEADER_LENGTH);
+            return switch (bytes[2]) {
+                case TYPE_ITEM -> readItem(in);
+                case TYPE_PAGE -> readPage(in);
+                case TYPE_JDK -> fallback.decode(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+                default -> null;
+            };
+        } catch (RuntimeException e) {
+            log.warn("Discarding undecodable cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writePage(Output out, InventoryPage page) {
+        List<InventoryItemResponse> items = page.getItems();
+        out.writeVarInt(items == null ? -1 : items.size());
+        if (items != null) {
+            for (InventoryItemResponse item : items) {
+                writeItem(out, item);
+            }
+        }
+        out.writeBoolean(page.getNextCursor() != null);
+        if (page.getNextCursor() != null) {
+            out.writeString(page.getNextCursor());
+        }
+    }
+
+    private static InventoryPage readPage(Input in) {
+        int size = in.readVarInt();
+        List<InventoryItemResponse> items = null;
+        if (size >= 0) {
+            items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(readItem(in));
+            }
+        }
+        String nextCursor = in.readBoolean() ? in.readString() : null;
+        return new InventoryPage(items, nextCursor);
+    }
+
+    private static void writeItem(Output out, InventoryItemResponse item) {
+        int present = bit(item.getId(), 0) | bit(item.getItemName(), 1) | bit(item.getSku(), 2)
+                | bit(item.getDescription(), 3) | bit(item.getPrice(), 4) | bit(item.getTotalQuantity(), 5)
+                | bit(item.getAvailableQuantity(), 6) | bit(item.getReservedQuantity(), 7)
+                | bit(item.getActive(), 8) | bit(item.getCreatedAt(), 9) | bit(item.getUpdatedAt(), 10);
+        out.writeVarInt(present);
+
+        if (item.getId() != null) {
+            out.writeVarLong(item.getId());
+        }
+        if (item.getItemName() != null) {
+            out.writeString(item.getItemName());
+        }
+        if (item.getSku() != null) {
+            out.writeString(item.getSku());
+        }
+        if (item.getDescription() != null) {
+            out.writeString(item.getDescription());
+        }
+        if (item.getPrice() != null) {
+            out.writeDecimal(item.getPrice());
+        }
+        if (item.getTotalQuantity() != null) {
+            out.writeVarInt(item.getTotalQuantity());
+        }
+        if (item.getAvailableQuantity() != null) {
+            out.writeVarInt(item.getAvailableQuantity());
+        }
+        if (item.getReservedQuantity() != null) {
+            out.writeVarInt(item.getReservedQuantity());
+        }
+        if (item.getActive() != null) {
+            out.writeBoolean(item.getActive());
+        }
+        if (item.getCreatedAt() != null) {
+            out.writeDateTime(item.getCreatedAt());
+        }
+        if (item.getUpdatedAt() != null) {
+            out.writeDateTime(item.getUpdatedAt());
+        }
+    }
+
+    private static InventoryItemResponse readItem(Input in) {
+        int present = in.readVarInt();
+        InventoryItemResponse item = new InventoryItemResponse();
+        if (has(present, 0)) {
+            item.setId(in.readVarLong());
+        }
+        if (has(present, 1)) {
+            item.setItemName(in.readString());
+        }
+        if (has(present, 2)) {
+            item.setSku(in.readString());
+        }
+        if (has(present, 3)) {
+            item.setDescription(in.readString());
+        }
+        if (has(present, 4)) {
+            item.setPrice(in.readDecimal());
+        }
+        if (has(present, 5)) {
+            item.setTotalQuantity(in.readVarInt());
+        }
+        if (has(present, 6)) {
+            item.setAvailableQuantity(in.readVarInt());
+        }
+        if (has(present, 7)) {
+            item.setReservedQuantity(in.readVarInt());
+        }
+        if (has(present, 8)) {
+            item.setActive(in.readBoolean());
+        }
+        if (has(present, 9)) {
+            item.setCreatedAt(in.readDateTime());
+        }
+        if (has(present, 10)) {
+            item.setUpdatedAt(in.readDateTime());
+        }
+        return item;
+    }
+
+    private static int bit(Object field, int index) {
+        return field == null ? 0 : 1 << index;
+    }
+
+    private static boolean has(int present, int index) {
+        return (present & 1 << index) != 0;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        Output(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value);
+        }
+
+        void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensureCapacity(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeVarInt(value.scale());
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                writeBoolean(true);
+                writeVarLong(unscaled.longValue());
+            } else {
+                writeBoolean(false);
+                byte[] bytes = unscaled.toByteArray();
+                writeVarInt(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated cache entry");
+            }
+            return buffer[position++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        int readVarInt() {
+            return Math.toIntExact(readVarLong());
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in cache entry");
+        }
+
+        String readString() {
+            int length = readVarInt();
+            String value = new String(buffer, position, checkLength(length), StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            int scale = readVarInt();
+            if (readBoolean()) {
+                return BigDecimal.valueOf(readVarLong(), scale);
+            }
+            int length = readVarInt();
+            BigInteger unscaled = new BigInteger(buffer, position, checkLength(length));
+            position += length;
+            return new BigDecimal(unscaled, scale);
+        }
+
+        LocalDateTime readDateTime() {
+            long seconds = readVarLong();
+            int nanos = readVarInt();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        private int checkLength(int length) {
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated cache entry");
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.springboot.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheCodecConfig {
+
+    @Value("${inventory.cache.codec:binary}")
+    private String codec;
+
+    @Value("${spring.cache.redis.time-to-live:600000}")
+    private long timeToLiveMs;
+
+    @Bean
+    public CacheValueCodec cacheValueCodec() {
+        if ("jdk".equalsIgnoreCase(codec)) {
+            return new JdkCacheValueCodec();
+        }
+        if ("binary".equalsIgnoreCase(codec)) {
+            return new BinaryCacheValueCodec();
+        }
+        throw new IllegalStateException("Unknown inventory.cache.codec '" + codec + "', expected binary or jdk");
+    }
+
+    @Bean
+    public RedisCacheConfiguration redisCacheConfiguration(CacheValueCodec cacheValueCodec) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMillis(timeToLiveMs))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new CacheValueCodecSerializer(cacheValueCodec)));
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveCacheRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                           CacheValueCodec cacheValueCodec) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(new CacheValueCodecSerializer(cacheValueCodec))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.springboot.cache;
+
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the caches of {@code @Cacheable} methods as {@link MeteredCache}s.
+ * The cache manager bean itself is left as it is, since other components
+ * look it up by type.
+ */
+@Configuration
+public class CacheMetricsConfig implements CachingConfigurer {
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    @Autowired
+    private ObjectProvider<InventoryMetrics> inventoryMetrics;
+
+    @Override
+    public CacheResolver cacheResolver() {
+        InventoryMetrics metrics = inventoryMetrics.getObject();
+        Map<Cache, Cache> metered = new ConcurrentHashMap<>();
+        return new SimpleCacheResolver(cacheManager.getObject()) {
+            @Override
+            public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+                return super.resolveCaches(context).stream()
+                        .map(cache -> cache instanceof NoOpCache ? cache
+                                : metered.computeIfAbsent(cache, delegate -> new MeteredCache(delegate, metrics)))
+                        .collect(Collectors.toList());
+            }
+        };
+    }
+}
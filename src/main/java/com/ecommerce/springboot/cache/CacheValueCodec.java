@@ -0,0 +1,13 @@
+package com.ecommerce.springboot.cache;
+
+/**
+ * Encodes cache values for the shared (Redis) cache tier. {@link #decode}
+ * returns {@code null} for bytes it does not understand, which the cache
+ * treats as a miss.
+ */
+public interface CacheValueCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
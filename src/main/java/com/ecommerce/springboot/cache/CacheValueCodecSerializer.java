@@ -0,0 +1,24 @@
+package com.ecommerce.springboot.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+public class CacheValueCodecSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final CacheValueCodec codec;
+
+    public CacheValueCodecSerializer(CacheValueCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        return value == null ? EMPTY : codec.encode(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        return bytes == null || bytes.length == 0 ? null : codec.decode(bytes);
+    }
+}
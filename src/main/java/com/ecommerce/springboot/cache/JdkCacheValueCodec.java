@@ -0,0 +1,18 @@
+package com.ecommerce.springboot.cache;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+public class JdkCacheValueCodec implements CacheValueCodec {
+
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.springboot.cache;
+
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts hits and misses of a cache per key type, for the caches used by
+ * {@code @Cacheable} methods.
+ */
+public class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final InventoryMetrics inventoryMetrics;
+
+    public MeteredCache(Cache delegate, InventoryMetrics inventoryMetrics) {
+        this.delegate = delegate;
+        this.inventoryMetrics = inventoryMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        inventoryMetrics.recordCacheLookup(getName(), key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        inventoryMetrics.recordCacheLookup(getName(), key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        inventoryMetrics.recordCacheLookup(getName(), key, !loaded[0]);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.springboot.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache that reads through a local L1 to a shared L2. Writes and evictions
+ * go to both tiers and are announced through {@link Invalidations} so that
+ * other nodes drop their L1 copy of the key.
+ */
+public class TwoTierCache implements Cache {
+
+    public interface Invalidations {
+
+        void evicted(String cacheName, Object key);
+
+        void cleared(String cacheName);
+    }
+
+    private final String name;
+    private final Cache l1;
+    private final Cache l2;
+    private final Invalidations invalidations;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoTierCache(String name, Cache l1, Cache l2, Invalidations invalidations, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidations = invalidations;
+        this.l1Hits = getsCounter(meterRegistry, name, "l1", "hit");
+        this.l1Misses = getsCounter(meterRegistry, name, "l1", "miss");
+        this.l2Hits = getsCounter(meterRegistry, name, "l2", "hit");
+        this.l2Misses = getsCounter(meterRegistry, name, "l2", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.get(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        ValueWrapper shared = l2.get(key);
+        if (shared == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(key, shared.get());
+        return shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = l2.get(key, valueLoader);
+        if (value != null) {
+            l1.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(key, value);
+        invalidations.evicted(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.evict(key);
+        invalidations.evicted(name, key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.clear();
+        invalidations.cleared(name);
+    }
+
+    void evictLocal(Object key) {
+        l1.evict(key);
+    }
+
+    void clearLocal() {
+        l1.clear();
+    }
+
+    private static Counter getsCounter(MeterRegistry meterRegistry, String cacheName, String tier, String result) {
+        return Counter.builder("inventory.cache.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
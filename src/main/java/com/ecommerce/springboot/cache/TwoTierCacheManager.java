@@ -0,0 +1,160 @@
+package com.ecommerce.springboot.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds a {@link TwoTierCache} per cache name from a Caffeine L1 and the
+ * given L2 cache manager, and keeps the L1 of every node coherent by
+ * publishing evictions on {@link #CHANNEL} and applying the ones received
+ * from other nodes.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener, TwoTierCache.Invalidations {
+
+    public static final String CHANNEL = "inventory:cache:invalidate";
+
+    private static final String SEPARATOR = "\t";
+    private static final String KEY_SEPARATOR = "\u001F";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager l2CacheManager;
+    private final Caffeine<Object, Object> l1Spec;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Counter invalidationsReceived;
+
+    public TwoTierCacheManager(CacheManager l2CacheManager, Caffeine<Object, Object> l1Spec,
+                               StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.l2CacheManager = l2CacheManager;
+        this.l1Spec = l1Spec;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.invalidationsReceived = Counter.builder("inventory.cache.invalidations.received")
+                .description("L1 invalidations received from other nodes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void evicted(String cacheName, Object key) {
+        publishEvicted(cacheName, List.of(key));
+    }
+
+    /**
+     * Drops keys whose shared entries were already deleted from this node's L1
+     * and announces them to the other nodes in a single message.
+     */
+    public void evictLocal(String cacheName, Collection<?> keys) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evictLocal);
+        }
+        publishEvicted(cacheName, keys);
+    }
+
+    @Override
+    public void cleared(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, cacheName, "C"));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        invalidationsReceived.increment();
+
+        if ("E".equals(parts[2]) && parts.length == 4) {
+            for (String encodedKey : parts[3].split(KEY_SEPARATOR)) {
+                cache.evictLocal(decodeKey(encodedKey));
+            }
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeL1 = l1Spec.build();
+        Gauge.builder("inventory.cache.size", nativeL1, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .description("Entries held in the local L1 cache")
+                .tag("cache", name)
+                .tag("tier", "l1")
+                .register(meterRegistry);
+
+        return new TwoTierCache(name, new CaffeineCache(name, nativeL1, false),
+                l2CacheManager.getCache(name), this, meterRegistry);
+    }
+
+    private void publishEvicted(String cacheName, Collection<?> keys) {
+        List<String> encodedKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            String encodedKey = encodeKey(key);
+            if (encodedKey == null) {
+                cleared(cacheName);
+                return;
+            }
+            encodedKeys.add(encodedKey);
+        }
+        publish(String.join(SEPARATOR, nodeId, cacheName, "E", String.join(KEY_SEPARATOR, encodedKeys)));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation, other nodes rely on L1 expiry: {}", e.getMessage());
+        }
+    }
+
+    private static String encodeKey(Object key) {
+        if (key instanceof Long) {
+            return "L:" + key;
+        }
+        if (key instanceof String) {
+            return "S:" + key;
+        }
+        return null;
+    }
+
+    private static Object decodeKey(String encoded) {
+        if (encoded.startsWith("L:")) {
+            return Long.valueOf(encoded.substring(2));
+        }
+        return encoded.substring(2);
+    }
+}
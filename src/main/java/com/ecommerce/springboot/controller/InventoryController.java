@@ -1,27 +1,53 @@
 package com.ecommerce.springboot.controller;
 
 import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ImportReport;
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.dto.LockContentionResponse;
 import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.exception.InventoryException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.ecommerce.springboot.service.AvailabilitySnapshot;
+import com.ecommerce.springboot.service.InventoryImportService;
 import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.StockLevelStream;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
 
+    private static final int MAX_AVAILABILITY_IDS = 500;
+    private static final int MAX_CONTENTION_ITEMS = 100;
+    private static final int MAX_STREAM_IDS = 100;
+
     @Autowired
     private InventoryService inventoryService;
 
+    @Autowired
+    private InventoryImportService inventoryImportService;
+
+    @Autowired
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Autowired
+    private StockLevelStream stockLevelStream;
+
     @PostMapping
     public ResponseEntity<InventoryItemResponse> createInventoryItem(
             @Valid @RequestBody CreateInventoryItemRequest request) {
@@ -31,6 +57,22 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) throws IOException {
+        log.info("Request to import inventory items from NDJSON");
+
+        ImportReport report = inventoryImportService.importNdjson(body);
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        log.info("Request to import inventory items from CSV");
+
+        ImportReport report = inventoryImportService.importCsv(body);
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/home")
     public ResponseEntity<String> home() {
         return ResponseEntity.status(HttpStatus.CREATED).body("Home");
@@ -62,16 +104,63 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<InventoryPage> getActiveItemsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Request to get active items page, cursor: {}, size: {}", cursor, size);
+
+        InventoryPage response = inventoryService.getActiveItemsPage(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportActiveItems() {
+        log.info("Request to export active items");
+
+        StreamingResponseBody body = out -> inventoryService.exportActiveItems(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{itemId}/availability")
     public ResponseEntity<Boolean> checkAvailability(
             @PathVariable @NotNull Long itemId,
             @RequestParam @Positive Integer quantity) {
         log.debug("Availability for item ID: {}, quantity: {}", itemId, quantity);
 
-        boolean available = inventoryService.isItemAvailable(itemId, quantity);
+        boolean available = availabilitySnapshot.isAvailable(itemId, quantity);
+        return ResponseEntity.ok(available);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<Map<Long, Boolean>> checkAvailability(
+            @RequestParam List<Long> ids,
+            @RequestParam @Positive Integer qty) {
+        log.debug("Availability for item IDs: {}, quantity: {}", ids, qty);
+
+        if (ids.size() > MAX_AVAILABILITY_IDS) {
+            throw new InventoryException("At most " + MAX_AVAILABILITY_IDS + " item IDs can be checked at once");
+        }
+        Map<Long, Boolean> available = availabilitySnapshot.areAvailable(ids, qty);
         return ResponseEntity.ok(available);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStockLevels(@RequestParam List<Long> ids) {
+        log.debug("Stock level stream for item IDs: {}", ids);
+
+        if (ids.isEmpty() || ids.size() > MAX_STREAM_IDS) {
+            throw new InventoryException("Between 1 and " + MAX_STREAM_IDS + " item IDs can be streamed at once");
+        }
+        SseEmitter emitter = stockLevelStream.subscribe(ids);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @PutMapping("/{itemId}/deactivate")
     public ResponseEntity<InventoryItemResponse> deactivateItem(@PathVariable @NotNull Long itemId) {
         log.info("Request to deactivate item ID: {}", itemId);
@@ -79,4 +168,40 @@ public class InventoryController {
         InventoryItemResponse response = inventoryService.deactivateItem(itemId);
         return ResponseEntity.ok(response);
     }
+
+    @PutMapping("/{itemId}/hot")
+    public ResponseEntity<InventoryItemResponse> enableHotStock(
+            @PathVariable @NotNull Long itemId,
+            @RequestParam @Positive Integer buckets) {
+        log.info("Request to enable hot stock mode for item ID: {}, buckets: {}", itemId, buckets);
+
+        InventoryItemResponse response = inventoryService.enableHotStock(itemId, buckets);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{itemId}/hot")
+    public ResponseEntity<InventoryItemResponse> disableHotStock(@PathVariable @NotNull Long itemId) {
+        log.info("Request to disable hot stock mode for item ID: {}", itemId);
+
+        InventoryItemResponse response = inventoryService.disableHotStock(itemId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/contention")
+    public ResponseEntity<List<LockContentionResponse>> getLockContention(
+            @RequestParam(defaultValue = "20") @Positive Integer limit) {
+        log.debug("Lock contention, top {}", limit);
+
+        List<LockContentionResponse> response =
+                inventoryService.getLockContention(Math.min(limit, MAX_CONTENTION_ITEMS));
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/contention")
+    public ResponseEntity<Void> resetLockContention() {
+        log.info("Request to reset lock contention tracking");
+
+        inventoryService.resetLockContention();
+        return ResponseEntity.noContent().build();
+    }
 }
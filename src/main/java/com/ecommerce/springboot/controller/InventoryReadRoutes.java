@@ -0,0 +1,99 @@
+package com.ecommerce.springboot.controller;
+
+import com.ecommerce.springboot.exception.ErrorResponse;
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.InventoryException;
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.service.ReactiveInventoryReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.web.servlet.function.RouterFunctions.route;
+
+/**
+ * Read-only inventory lookups under {@code /api/reactive/inventory}. Handlers
+ * return an async {@link ServerResponse}, so the servlet thread is released
+ * while the lookup waits on Redis or on the bounded blocking scheduler.
+ * Writes stay on {@link InventoryController}.
+ */
+@Slf4j
+@Configuration
+public class InventoryReadRoutes {
+
+    @Autowired
+    private ReactiveInventoryReader reactiveInventoryReader;
+
+    @Bean
+    public RouterFunction<ServerResponse> inventoryReadRouter() {
+        return route()
+                .GET("/api/reactive/inventory/sku/{sku}", this::getItemBySku)
+                .GET("/api/reactive/inventory/page", this::getActiveItemsPage)
+                .GET("/api/reactive/inventory/{itemId}/availability", this::checkAvailability)
+                .build();
+    }
+
+    private ServerResponse getItemBySku(ServerRequest request) {
+        String sku = request.pathVariable("sku");
+        log.debug("Reactive request to get item by SKU: {}", sku);
+
+        return respond(reactiveInventoryReader.getItemBySku(sku));
+    }
+
+    private ServerResponse getActiveItemsPage(ServerRequest request) {
+        String cursor = request.param("cursor").orElse(null);
+        Integer size;
+        try {
+            size = request.param("size").map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return error(HttpStatus.BAD_REQUEST, "Inventory Error", new InventoryException("Invalid page size"));
+        }
+
+        return respond(reactiveInventoryReader.getActiveItemsPage(cursor, size));
+    }
+
+    private ServerResponse checkAvailability(ServerRequest request) {
+        Long itemId;
+        Integer quantity;
+        try {
+            itemId = Long.valueOf(request.pathVariable("itemId"));
+            quantity = Integer.valueOf(request.param("quantity").orElseThrow(
+                    () -> new InventoryException("Quantity is required")));
+        } catch (NumberFormatException e) {
+            return error(HttpStatus.BAD_REQUEST, "Inventory Error", new InventoryException("Invalid item ID or quantity"));
+        } catch (InventoryException e) {
+            return error(HttpStatus.BAD_REQUEST, "Inventory Error", e);
+        }
+        if (quantity <= 0) {
+            return error(HttpStatus.BAD_REQUEST, "Inventory Error", new InventoryException("Quantity must be greater than 0"));
+        }
+
+        return respond(reactiveInventoryReader.isItemAvailable(itemId, quantity));
+    }
+
+    private static ServerResponse respond(Mono<?> body) {
+        return ServerResponse.async(body
+                .map(value -> ServerResponse.ok().body(value))
+                .onErrorResume(ItemNotFoundException.class,
+                        e -> Mono.just(error(HttpStatus.NOT_FOUND, "Item Not Found", e)))
+                .onErrorResume(InsufficientStockException.class,
+                        e -> Mono.just(error(HttpStatus.BAD_REQUEST, "Insufficient Stock", e)))
+                .onErrorResume(InventoryException.class,
+                        e -> Mono.just(error(HttpStatus.BAD_REQUEST, "Inventory Error", e)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(error(HttpStatus.BAD_REQUEST, "Invalid Argument", e))));
+    }
+
+    private static ServerResponse error(HttpStatus status, String error, Exception e) {
+        return ServerResponse.status(status)
+                .body(new ErrorResponse(status.value(), error, e.getMessage(), LocalDateTime.now()));
+    }
+}
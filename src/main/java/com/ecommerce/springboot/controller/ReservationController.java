@@ -1,5 +1,7 @@
 package com.ecommerce.springboot.controller;
 
+import com.ecommerce.springboot.dto.BatchReservationRequest;
+import com.ecommerce.springboot.dto.BatchReservationResponse;
 import com.ecommerce.springboot.dto.ReservationRequest;
 import com.ecommerce.springboot.dto.ReservationResponse;
 import jakarta.validation.Valid;
@@ -10,9 +12,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.ecommerce.springboot.service.ReservationGroupCommitter;
 import com.ecommerce.springboot.service.ReservationService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -22,13 +26,31 @@ public class ReservationController {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private ReservationGroupCommitter reservationGroupCommitter;
+
     @PostMapping
-    public ResponseEntity<ReservationResponse> createReservation(
+    public CompletableFuture<ResponseEntity<ReservationResponse>> createReservation(
             @Valid @RequestBody ReservationRequest request) {
         log.info("Request to create reservation for item ID: {}, customer: {}",
                 request.getItemId(), request.getCustomerId());
 
+        if (reservationGroupCommitter.isEnabled()) {
+            return reservationGroupCommitter.submit(request)
+                    .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+        }
+
         ReservationResponse response = reservationService.createReservation(request);
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchReservationResponse> createReservations(
+            @Valid @RequestBody BatchReservationRequest request) {
+        log.info("Request to create batch reservation of {} lines for customer: {}",
+                request.getItems().size(), request.getCustomerId());
+
+        BatchReservationResponse response = reservationService.createReservations(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -0,0 +1,22 @@
+package com.ecommerce.springboot.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchReservationRequest {
+
+    @NotBlank(message = "Customer ID is required")
+    private String customerId;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 200, message = "At most 200 items can be reserved at once")
+    private List<@Valid BatchReservationLine> items;
+}
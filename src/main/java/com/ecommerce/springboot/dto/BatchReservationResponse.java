@@ -0,0 +1,13 @@
+package com.ecommerce.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchReservationResponse {
+
+    private List<ReservationResponse> reservations;
+}
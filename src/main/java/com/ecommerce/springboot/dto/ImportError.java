@@ -0,0 +1,13 @@
+package com.ecommerce.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportError {
+
+    private long line;
+    private String sku;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.springboot.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+
+    private long processed;
+    private long created;
+    private long updated;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<ImportError> errors = new ArrayList<>();
+}
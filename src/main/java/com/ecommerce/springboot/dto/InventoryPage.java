@@ -0,0 +1,18 @@
+package com.ecommerce.springboot.dto;
+
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+public class InventoryPage implements Serializable {
+
+    private List<InventoryItemResponse> items;
+    private String nextCursor;
+}
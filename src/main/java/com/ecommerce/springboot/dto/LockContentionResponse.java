@@ -0,0 +1,20 @@
+package com.ecommerce.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LockContentionResponse {
+
+    private Long itemId;
+    private String sku;
+    private Integer stockBuckets;
+    private double waitScoreMs;
+    private double maxOverestimateMs;
+    private long lockAcquisitions;
+    private double totalWaitMs;
+    private double maxWaitMs;
+    private int maxQueued;
+    private int waitingNow;
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.springboot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StockLevelUpdate {
+
+    private Long itemId;
+    private Integer availableQuantity;
+    private Boolean active;
+}
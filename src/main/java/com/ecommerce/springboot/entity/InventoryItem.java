@@ -15,14 +15,17 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", indexes = {
+        @Index(name = "idx_inventory_items_stock_buckets", columnList = "stock_buckets")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class InventoryItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_items_seq")
+    @SequenceGenerator(name = "inventory_items_seq", sequenceName = "inventory_items_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Item name is required")
@@ -59,6 +62,9 @@ public class InventoryItem {
     @Column(nullable = false)
     private Boolean active = true;
 
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private Integer stockBuckets = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -67,6 +73,10 @@ public class InventoryItem {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public InventoryItem(String itemName, String sku, String description, BigDecimal price, Integer totalQuantity) {
         this.itemName = itemName;
         this.sku = sku;
@@ -76,6 +86,7 @@ public class InventoryItem {
         this.availableQuantity = totalQuantity;
         this.reservedQuantity = 0;
         this.active = true;
+        this.stockBuckets = 0;
     }
 
     @Override
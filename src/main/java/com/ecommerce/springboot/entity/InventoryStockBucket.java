@@ -0,0 +1,45 @@
+package com.ecommerce.springboot.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One slice of the available quantity of an item in hot stock mode. Rows are
+ * read and written with plain SQL by {@code HotStockBuckets}; the entity only
+ * describes the table.
+ */
+@Entity
+@Table(name = "inventory_stock_buckets")
+@IdClass(InventoryStockBucket.Key.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryStockBucket {
+
+    @Id
+    @Column(nullable = false)
+    private Long itemId;
+
+    @Id
+    @Column(nullable = false)
+    private Integer bucket;
+
+    @NotNull(message = "Available quantity is required")
+    @PositiveOrZero(message = "Available quantity must be positive")
+    @Column(nullable = false)
+    private Integer availableQuantity;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long itemId;
+        private Integer bucket;
+    }
+}
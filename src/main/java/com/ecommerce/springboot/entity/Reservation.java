@@ -8,19 +8,26 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_customer_status", columnList = "customer_id, status"),
+        @Index(name = "idx_reservations_item_status", columnList = "item_id, status, quantity"),
+        @Index(name = "idx_reservations_status_expires", columnList = "status, expires_at")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Item ID is required")
@@ -37,7 +44,8 @@ public class Reservation {
     private Integer quantity;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
     private ReservationStatus status = ReservationStatus.ACTIVE;
 
     @CreationTimestamp
@@ -47,6 +55,9 @@ public class Reservation {
     @Column
     private LocalDateTime expiresAt;
 
+    @Version
+    private Long version;
+
     public Reservation(Long itemId, String customerId, Integer quantity) {
         this.itemId = itemId;
         this.customerId = customerId;
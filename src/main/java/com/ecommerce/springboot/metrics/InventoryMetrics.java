@@ -0,0 +1,237 @@
+package com.ecommerce.springboot.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Meters for the stock hot paths. A stock operation started with
+ * {@link #beginOperation} is timed until its transaction completes, commit
+ * included, and that time is split into waiting for item row locks
+ * ({@code inventory.operation.lock.wait}) and everything else in the
+ * transaction ({@code inventory.operation.db}).
+ */
+@Component
+public class InventoryMetrics {
+
+    private static final String OTHER = "other";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.metrics.max-tagged-items:1000}")
+    private int maxTaggedItems = 1000;
+
+    private final AtomicLong expiryLagSeconds = new AtomicLong();
+    private final AtomicLong outboxLagMillis = new AtomicLong();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    private Counter expiredReservations;
+    private Counter expiredUnits;
+    private Timer expiryRun;
+    private DistributionSummary optimisticAttempts;
+    private Counter optimisticConflicts;
+    private Counter optimisticExhausted;
+    private Counter outboxPublished;
+    private Counter outboxFailures;
+    private Timer outboxPublish;
+
+    @PostConstruct
+    public void init() {
+        expiredReservations = Counter.builder("inventory.reservations.expired")
+                .description("Reservations moved from ACTIVE to EXPIRED")
+                .register(meterRegistry);
+        expiredUnits = Counter.builder("inventory.reservations.expired.units")
+                .description("Stock units released back to available by expiry")
+                .register(meterRegistry);
+        expiryRun = Timer.builder("inventory.reservations.expiry.run")
+                .description("Duration of one expiry sweep")
+                .register(meterRegistry);
+        meterRegistry.gauge("inventory.reservations.expiry.lag.seconds", expiryLagSeconds);
+        optimisticAttempts = DistributionSummary.builder("inventory.reservation.optimistic.attempts")
+                .description("Attempts, each in its own transaction, per optimistic reservation")
+                .register(meterRegistry);
+        optimisticConflicts = Counter.builder("inventory.reservation.optimistic.conflicts")
+                .description("Versioned updates that lost to a concurrent change of the item")
+                .register(meterRegistry);
+        optimisticExhausted = Counter.builder("inventory.reservation.optimistic.exhausted")
+                .description("Optimistic reservations that gave up after max-attempts conflicts")
+                .register(meterRegistry);
+        outboxPublished = Counter.builder("inventory.outbox.published")
+                .description("Change events published from the outbox")
+                .register(meterRegistry);
+        outboxFailures = Counter.builder("inventory.outbox.publish.failures")
+                .description("Outbox batches the sink rejected, left in the outbox for the next run")
+                .register(meterRegistry);
+        outboxPublish = Timer.builder("inventory.outbox.publish")
+                .description("Time to publish and delete one outbox batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("inventory.outbox.lag.ms", outboxLagMillis);
+    }
+
+    public void recordExpiryRun(int expired, long releasedUnits, Duration lag, long durationNanos) {
+        expiredReservations.increment(expired);
+        expiredUnits.increment(releasedUnits);
+        expiryRun.record(durationNanos, TimeUnit.NANOSECONDS);
+        expiryLagSeconds.set(lag.getSeconds());
+    }
+
+    /**
+     * Records an optimistic reservation that either succeeded in its
+     * {@code attempts}-th transaction or gave up after that many
+     * conflicts.
+     */
+    public void recordOptimisticReservation(int attempts, boolean succeeded) {
+        optimisticAttempts.record(attempts);
+        optimisticConflicts.increment(succeeded ? attempts - 1 : attempts);
+        if (!succeeded) {
+            optimisticExhausted.increment();
+        }
+    }
+
+    /**
+     * Records a published outbox batch; {@code lag} is the age of its oldest
+     * event when it was published.
+     */
+    public void recordOutboxPublish(int events, long durationNanos, Duration lag) {
+        outboxPublished.increment(events);
+        outboxPublish.record(durationNanos, TimeUnit.NANOSECONDS);
+        outboxLagMillis.set(lag.toMillis());
+    }
+
+    public void outboxPublishFailed() {
+        outboxFailures.increment();
+    }
+
+    /**
+     * Starts timing a stock operation in the current transaction. Nested calls
+     * in the same transaction are ignored, so the outermost operation owns the
+     * timing; outside a transaction nothing is recorded.
+     */
+    public void beginOperation(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        TrackedOperation tracked = new TrackedOperation(operation, System.nanoTime());
+        TransactionSynchronizationManager.bindResource(this, tracked);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(InventoryMetrics.this);
+                long total = System.nanoTime() - tracked.started;
+                recordOperation(operation, total, status == STATUS_COMMITTED);
+                recordDbTime(operation, Math.max(0, total - tracked.lockWaitNanos));
+            }
+        });
+    }
+
+    /**
+     * Records time spent waiting for an item row lock, attributed to the
+     * operation running in the current transaction.
+     */
+    public void recordLockWait(long nanos) {
+        TrackedOperation tracked = (TrackedOperation) TransactionSynchronizationManager.getResource(this);
+        String operation = OTHER;
+        if (tracked != null) {
+            tracked.lockWaitNanos += nanos;
+            operation = tracked.operation;
+        }
+        timer("inventory.operation.lock.wait", "Time spent waiting for item row locks", operation)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOperation(String operation, long nanos, boolean success) {
+        timers.computeIfAbsent("inventory.operation|" + operation + "|" + success, key ->
+                Timer.builder("inventory.operation")
+                        .description("Total time of a stock operation, commit included")
+                        .tag("operation", operation)
+                        .tag("outcome", success ? "success" : "failure")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDbTime(String operation, long nanos) {
+        timer("inventory.operation.db", "Time of a stock operation outside lock waits: statements, flush and commit",
+                operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a reservation rejected for insufficient stock. Only the first
+     * {@code inventory.metrics.max-tagged-items} items get their own series,
+     * the rest are counted under {@code item=other}.
+     */
+    public void insufficientStock(Long itemId) {
+        String item = String.valueOf(itemId);
+        Counter counter = rejections.get(item);
+        if (counter == null) {
+            counter = rejections.computeIfAbsent(rejections.size() < maxTaggedItems ? item : OTHER, tag ->
+                    Counter.builder("inventory.reservations.insufficient.stock")
+                            .description("Reservations rejected because the item did not have enough stock")
+                            .tag("item", tag)
+                            .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    public void recordCacheLookup(String cacheName, Object key, boolean hit) {
+        String type = keyType(key);
+        counters.computeIfAbsent("cache|" + cacheName + "|" + type + "|" + hit, name ->
+                Counter.builder("inventory.cache.lookups")
+                        .description("Cache lookups per cache and key type")
+                        .tag("cache", cacheName)
+                        .tag("key.type", type)
+                        .tag("result", hit ? "hit" : "miss")
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Key type of a cache key: the prefix of keys such as {@code sku_ABC} or
+     * {@code page_0_50}, and {@code id} for anything else.
+     */
+    static String keyType(Object key) {
+        if (key instanceof String string) {
+            int separator = string.indexOf('_');
+            return separator > 0 ? string.substring(0, separator) : OTHER;
+        }
+        return "id";
+    }
+
+    private Timer timer(String name, String description, String operation) {
+        return timers.computeIfAbsent(name + "|" + operation, key ->
+                Timer.builder(name)
+                        .description(description)
+                        .tag("operation", operation)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private static final class TrackedOperation {
+        private final String operation;
+        private final long started;
+        private long lockWaitNanos;
+
+        private TrackedOperation(String operation, long started) {
+            this.operation = operation;
+            this.started = started;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.springboot.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Finds the items whose row locks are waited on the most. Lock waits are fed
+ * into a Space-Saving sketch of {@code inventory.contention.top-k} entries,
+ * weighted by wait time, so memory stays fixed however many items are locked:
+ * any item with more than 1/k of the total wait is guaranteed to be listed,
+ * and its score overestimates the true wait by at most its {@code error}.
+ * Scores are halved every {@code inventory.contention.decay-interval-ms} so
+ * the list follows current traffic.
+ */
+@Component
+public class LockContentionTracker {
+
+    @Value("${inventory.contention.top-k:100}")
+    private int topK = 100;
+
+    private final ConcurrentMap<Long, Integer> waiting = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // a lock rather than a monitor, so a virtual thread holding it is not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Called before requesting the lock of an item; returns how many requests
+     * are now waiting for it, this one included.
+     */
+    public int waiting(Long itemId) {
+        return waiting.merge(itemId, 1, Integer::sum);
+    }
+
+    /**
+     * Called once the lock request of an item returned, whether or not the
+     * lock was granted.
+     */
+    public void acquired(Long itemId, long waitNanos, int queued) {
+        waiting.computeIfPresent(itemId, (id, count) -> count == 1 ? null : count - 1);
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(itemId);
+            if (entry == null) {
+                entry = new Entry(itemId);
+                if (entries.size() >= topK) {
+                    Entry smallest = entries.values().stream().min(Comparator.comparingDouble(e -> e.score)).orElseThrow();
+                    entries.remove(smallest.itemId);
+                    entry.score = smallest.score;
+                    entry.error = smallest.score;
+                }
+                entries.put(itemId, entry);
+            }
+            entry.score += waitNanos;
+            entry.acquisitions++;
+            entry.totalWaitNanos += waitNanos;
+            entry.maxWaitNanos = Math.max(entry.maxWaitNanos, waitNanos);
+            entry.maxQueued = Math.max(entry.maxQueued, queued);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} most contended items, highest score first.
+     */
+    public List<Contention> top(int limit) {
+        List<Contention> top = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                top.add(new Contention(entry.itemId, entry.score, entry.error, entry.acquisitions,
+                        entry.totalWaitNanos, entry.maxWaitNanos, entry.maxQueued,
+                        waiting.getOrDefault(entry.itemId, 0)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        top.sort(Comparator.comparingDouble(Contention::score).reversed());
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.contention.decay-interval-ms:60000}")
+    public void decay() {
+        lock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                entry.score /= 2;
+                entry.error /= 2;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A tracked item. Score and error are in nanoseconds of (decayed) wait;
+     * the other figures cover the time since the item entered the sketch.
+     */
+    public record Contention(Long itemId, double score, double error, long acquisitions, long totalWaitNanos,
+                             long maxWaitNanos, int maxQueued, int waitingNow) {
+    }
+
+    private static final class Entry {
+        private final Long itemId;
+        private double score;
+        private double error;
+        private long acquisitions;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private int maxQueued;
+
+        private Entry(Long itemId) {
+            this.itemId = itemId;
+        }
+    }
+}
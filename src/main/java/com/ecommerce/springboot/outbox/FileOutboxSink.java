@@ -0,0 +1,56 @@
+package com.ecommerce.springboot.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends published events as JSON lines to {@code inventory.outbox.file.path}.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.outbox.file.path:outbox/inventory-changes.ndjson}")
+    private String path = "outbox/inventory-changes.ndjson";
+
+    // a lock rather than a monitor: it is held across file writes, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public void publish(List<InventoryChangeEvent> events) {
+        Path file = Path.of(path);
+        lock.lock();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (InventoryChangeEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox events to " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.springboot.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the last {@code inventory.outbox.memory.max-events} published events
+ * in memory. Meant for tests and local runs; the default sink.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Value("${inventory.outbox.memory.max-events:10000}")
+    private int maxEvents = 10000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<InventoryChangeEvent> events = new ArrayDeque<>();
+
+    @Override
+    public void publish(List<InventoryChangeEvent> batch) {
+        lock.lock();
+        try {
+            for (InventoryChangeEvent event : batch) {
+                if (events.size() >= maxEvents) {
+                    events.removeFirst();
+                }
+                events.addLast(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<InventoryChangeEvent> events() {
+        lock.lock();
+        try {
+            return new ArrayList<>(events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            events.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
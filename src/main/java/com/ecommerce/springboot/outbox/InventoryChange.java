@@ -0,0 +1,8 @@
+package com.ecommerce.springboot.outbox;
+
+/**
+ * A change to be written to the outbox; {@code reservationId} is only set for
+ * reservation events.
+ */
+public record InventoryChange(InventoryChangeType type, Long itemId, Long reservationId, int quantity) {
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.springboot.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change as read back from the outbox. The id increases with
+ * every event and is the same on every redelivery, so consumers use it to
+ * drop duplicates.
+ */
+public record InventoryChangeEvent(long id, InventoryChangeType type, Long itemId, Long reservationId,
+                                   int quantity, LocalDateTime occurredAt) {
+}
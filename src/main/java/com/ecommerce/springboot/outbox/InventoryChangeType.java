@@ -0,0 +1,23 @@
+package com.ecommerce.springboot.outbox;
+
+/**
+ * What an outbox event did to its item. Consumers apply the event quantity as
+ * follows:
+ * <ul>
+ *     <li>CREATED: new item with total and available set to the quantity</li>
+ *     <li>SUPPLIED: total and available increased by the quantity</li>
+ *     <li>DEACTIVATED: item no longer active, quantity is 0</li>
+ *     <li>RESERVED: available decreased and reserved increased by the quantity</li>
+ *     <li>CANCELLED, EXPIRED: reserved decreased and available increased by the quantity</li>
+ *     <li>IMPORTED: total replaced by the quantity, available is the new total minus reserved</li>
+ * </ul>
+ */
+public enum InventoryChangeType {
+    CREATED,
+    SUPPLIED,
+    DEACTIVATED,
+    RESERVED,
+    CANCELLED,
+    EXPIRED,
+    IMPORTED
+}
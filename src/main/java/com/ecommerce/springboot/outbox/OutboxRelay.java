@@ -0,0 +1,113 @@
+package com.ecommerce.springboot.outbox;
+
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the outbox to the configured {@link OutboxSink} in id order, one
+ * batch of {@code inventory.outbox.relay.batch-size} events at a time, and
+ * deletes each batch once the sink accepted it. Delivery is at least once: a
+ * batch whose delete fails is published again. Run the relay on one node
+ * only ({@code inventory.outbox.relay.enabled}); events from transactions
+ * that commit late are picked up by the next run.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String PENDING_SQL =
+            "SELECT id, event_type, item_id, reservation_id, quantity, created_at " +
+            "FROM inventory_outbox ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM inventory_outbox WHERE id IN (:ids)";
+
+    private static final RowMapper<InventoryChangeEvent> EVENT_MAPPER = (rs, rowNum) -> new InventoryChangeEvent(
+            rs.getLong("id"),
+            InventoryChangeType.valueOf(rs.getString("event_type")),
+            rs.getLong("item_id"),
+            rs.getObject("reservation_id", Long.class),
+            rs.getInt("quantity"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Value("${inventory.outbox.relay.enabled:${inventory.outbox.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${inventory.outbox.relay.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${inventory.outbox.relay.max-per-run:50000}")
+    private int maxPerRun = 50000;
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay.interval-ms:200}")
+    public void publishPending() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    /**
+     * Publishes pending events until the outbox is drained, {@code max-per-run}
+     * events were sent or the sink fails. Returns the number published.
+     */
+    public int relay() {
+        int published = 0;
+        while (published < maxPerRun) {
+            int limit = Math.min(batchSize, maxPerRun - published);
+            List<InventoryChangeEvent> batch = jdbcTemplate.query(PENDING_SQL, EVENT_MAPPER, limit);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            long started = System.nanoTime();
+            try {
+                outboxSink.publish(batch);
+            } catch (RuntimeException e) {
+                inventoryMetrics.outboxPublishFailed();
+                log.warn("Publishing {} outbox events from ID: {} failed, will retry: {}",
+                        batch.size(), batch.get(0).id(), e.getMessage());
+                break;
+            }
+
+            namedParameterJdbcTemplate.update(DELETE_SQL, Map.of("ids", batch.stream()
+                    .map(InventoryChangeEvent::id)
+                    .collect(Collectors.toList())));
+            inventoryMetrics.recordOutboxPublish(batch.size(), System.nanoTime() - started,
+                    Duration.between(batch.get(0).occurredAt(), LocalDateTime.now()));
+            published += batch.size();
+
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+
+        if (published > 0) {
+            log.debug("Published {} outbox events", published);
+        }
+        return published;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.springboot.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the {@link OutboxRelay}, selected with
+ * {@code inventory.outbox.sink}. A batch that throws is left in the outbox and
+ * published again on the next run, so a sink may see an event more than once.
+ */
+public interface OutboxSink {
+
+    void publish(List<InventoryChangeEvent> events);
+}
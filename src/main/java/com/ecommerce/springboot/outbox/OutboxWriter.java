@@ -0,0 +1,67 @@
+package com.ecommerce.springboot.outbox;
+
+import com.ecommerce.springboot.entity.Reservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes change events to {@code inventory_outbox} on the caller's
+ * connection, so they commit or roll back together with the stock change
+ * they describe. Does nothing unless {@code inventory.outbox.enabled=true}.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_outbox (event_type, item_id, reservation_id, quantity, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.outbox.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void itemChanged(InventoryChangeType type, Long itemId, int quantity) {
+        write(List.of(new InventoryChange(type, itemId, null, quantity)));
+    }
+
+    public void reservationsChanged(InventoryChangeType type, Collection<Reservation> reservations) {
+        write(reservations.stream()
+                .map(reservation -> new InventoryChange(type, reservation.getItemId(), reservation.getId(),
+                        reservation.getQuantity()))
+                .collect(Collectors.toList()));
+    }
+
+    public void write(List<InventoryChange> changes) {
+        if (!enabled || changes.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setString(1, change.type().name());
+            ps.setLong(2, change.itemId());
+            if (change.reservationId() == null) {
+                ps.setNull(3, Types.BIGINT);
+            } else {
+                ps.setLong(3, change.reservationId());
+            }
+            ps.setInt(4, change.quantity());
+            ps.setTimestamp(5, now);
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.springboot.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds published events to the Redis stream {@code inventory.outbox.redis.stream},
+ * one pipelined round trip per batch. The stream is trimmed to roughly
+ * {@code max-length} entries after each batch.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "redis")
+public class RedisStreamOutboxSink implements OutboxSink {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${inventory.outbox.redis.stream:inventory:changes}")
+    private String stream = "inventory:changes";
+
+    @Value("${inventory.outbox.redis.max-length:1000000}")
+    private long maxLength = 1_000_000;
+
+    @Override
+    public void publish(List<InventoryChangeEvent> events) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (InventoryChangeEvent event : events) {
+                    operations.opsForStream().add(StreamRecords.string(fields(event)).withStreamKey(stream));
+                }
+                operations.opsForStream().trim(stream, maxLength, true);
+                return null;
+            }
+        });
+    }
+
+    static Map<String, String> fields(InventoryChangeEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", String.valueOf(event.id()));
+        fields.put("type", event.type().name());
+        fields.put("itemId", String.valueOf(event.itemId()));
+        if (event.reservationId() != null) {
+            fields.put("reservationId", String.valueOf(event.reservationId()));
+        }
+        fields.put("quantity", String.valueOf(event.quantity()));
+        fields.put("occurredAt", event.occurredAt().toString());
+        return fields;
+    }
+}
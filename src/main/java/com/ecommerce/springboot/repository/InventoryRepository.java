@@ -1,16 +1,21 @@
 package com.ecommerce.springboot.repository;
 
 import com.ecommerce.springboot.entity.InventoryItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
@@ -19,6 +24,16 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
 
     List<InventoryItem> findByActiveTrue();
 
+    @Query("SELECT i FROM InventoryItem i WHERE i.active = true AND i.id > :afterId ORDER BY i.id")
+    List<InventoryItem> findActivePage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM InventoryItem i WHERE i.active = true ORDER BY i.id")
+    Stream<InventoryItem> streamActive();
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM InventoryItem i WHERE i.id = :id")
     Optional<InventoryItem> findByIdWithLock(@Param("id") Long id);
@@ -29,13 +44,30 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
 
     @Modifying
     @Query("UPDATE InventoryItem i SET i.availableQuantity = i.availableQuantity - :quantity, " +
-            "i.reservedQuantity = i.reservedQuantity + :quantity WHERE i.id = :id")
+            "i.reservedQuantity = i.reservedQuantity + :quantity, i.version = i.version + 1 " +
+            "WHERE i.id = :id AND i.active = true AND i.availableQuantity >= :quantity")
     int reserveQuantity(@Param("id") Long id, @Param("quantity") Integer quantity);
 
     @Modifying
     @Query("UPDATE InventoryItem i SET i.availableQuantity = i.availableQuantity + :quantity, " +
-            "i.reservedQuantity = i.reservedQuantity - :quantity WHERE i.id = :id")
+            "i.reservedQuantity = i.reservedQuantity - :quantity, i.version = i.version + 1 " +
+            "WHERE i.id = :id AND i.reservedQuantity >= :quantity")
     int releaseQuantity(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    /**
+     * Reads the stock of an item straight from the database, bypassing any
+     * copy of the entity already in the persistence context.
+     */
+    @Query("SELECT new com.ecommerce.springboot.repository.ItemStockVersion(" +
+            "i.availableQuantity, i.active, i.stockBuckets, i.version) FROM InventoryItem i WHERE i.id = :id")
+    Optional<ItemStockVersion> findStockVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.availableQuantity = i.availableQuantity - :quantity, " +
+            "i.reservedQuantity = i.reservedQuantity + :quantity, i.version = i.version + 1 " +
+            "WHERE i.id = :id AND i.version = :version")
+    int reserveQuantityAtVersion(@Param("id") Long id, @Param("quantity") Integer quantity,
+                                 @Param("version") Long version);
 }
 
 
@@ -0,0 +1,4 @@
+package com.ecommerce.springboot.repository;
+
+public record ItemStockVersion(Integer availableQuantity, Boolean active, Integer stockBuckets, Long version) {
+}
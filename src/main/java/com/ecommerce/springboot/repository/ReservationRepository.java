@@ -2,6 +2,7 @@ package com.ecommerce.springboot.repository;
 
 import com.ecommerce.springboot.entity.Reservation;
 import com.ecommerce.springboot.entity.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -24,6 +25,12 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findExpiredReservations(@Param("status") ReservationStatus status,
                                               @Param("now") LocalDateTime now);
 
+    @Query("SELECT r FROM Reservation r WHERE r.status = :status AND r.expiresAt < :now AND r.id > :afterId ORDER BY r.id")
+    List<Reservation> findExpiredReservations(@Param("status") ReservationStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
     @Query("SELECT SUM(r.quantity) FROM Reservation r WHERE r.itemId = :itemId AND r.status = :status")
     Optional<Integer> getTotalReservedQuantity(@Param("itemId") Long itemId,
                                                @Param("status") ReservationStatus status);
@@ -0,0 +1,201 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.dto.StockLevelUpdate;
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory available quantity and active flag per item, answering
+ * availability checks without a database round trip. Entries are dropped on
+ * {@link InventoryItemsChangedEvent} when an item changes on this node, or on
+ * another node when changes are broadcast, and are never older than
+ * {@code inventory.availability.max-staleness-ms}, which bounds how long
+ * changes made on other nodes take to show up otherwise. In LEDGER mode
+ * the ledger counters are read directly.
+ */
+@Component
+public class AvailabilitySnapshot {
+
+    private static final String LOAD_SQL =
+            "SELECT i.id, i.active, i.available_quantity + CASE WHEN i.stock_buckets > 0 THEN " +
+            "(SELECT COALESCE(SUM(b.available_quantity), 0) FROM inventory_stock_buckets b WHERE b.item_id = i.id) " +
+            "ELSE 0 END AS available_quantity FROM inventory_items i WHERE i.id IN (:ids)";
+
+    private static final String CACHE_NAME = "availability";
+
+    private static final Level MISSING = new Level(0, false, false);
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Value("${inventory.availability.max-staleness-ms:1000}")
+    private long maxStalenessMs = 1000;
+
+    @Value("${inventory.availability.max-items:100000}")
+    private long maxItems = 100_000;
+
+    private LoadingCache<Long, Level> levels;
+
+    @PostConstruct
+    public void init() {
+        levels = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterWrite(Duration.ofMillis(maxStalenessMs))
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Level load(Long itemId) {
+                        return loadAll(Set.of(itemId)).get(itemId);
+                    }
+
+                    @Override
+                    public Map<Long, Level> loadAll(Set<? extends Long> itemIds) {
+                        return AvailabilitySnapshot.this.loadAll(itemIds);
+                    }
+                });
+    }
+
+    public boolean isAvailable(Long itemId, Integer quantity) {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Level level = level(itemId);
+            if (!level.exists()) {
+                throw new ItemNotFoundException("Item with ID " + itemId + " not found");
+            }
+            success = true;
+            return isAvailable(level, quantity);
+        } finally {
+            inventoryMetrics.recordOperation("availability", System.nanoTime() - started, success);
+        }
+    }
+
+    /**
+     * Answers from memory only: null when the item is not in the snapshot and
+     * would have to be loaded.
+     */
+    public Boolean cachedAvailability(Long itemId, Integer quantity) {
+        StockLedger.Level ledgerLevel = ledgerLevel(itemId);
+        Level level = ledgerLevel != null
+                ? new Level(ledgerLevel.available(), ledgerLevel.active(), true)
+                : levels.getIfPresent(itemId);
+        if (level == null || !level.exists()) {
+            return null;
+        }
+        return isAvailable(level, quantity);
+    }
+
+    public Map<Long, Boolean> areAvailable(Collection<Long> itemIds, Integer quantity) {
+        long started = System.nanoTime();
+        Map<Long, Level> found = new HashMap<>();
+        for (Long itemId : itemIds) {
+            StockLedger.Level ledgerLevel = ledgerLevel(itemId);
+            if (ledgerLevel != null) {
+                found.put(itemId, new Level(ledgerLevel.available(), ledgerLevel.active(), true));
+            }
+        }
+        if (found.size() < itemIds.size()) {
+            found.putAll(levels.getAll(itemIds.stream().filter(id -> !found.containsKey(id)).toList()));
+        }
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            result.put(itemId, isAvailable(found.get(itemId), quantity));
+        }
+        inventoryMetrics.recordOperation("availability_bulk", System.nanoTime() - started, true);
+        return result;
+    }
+
+    /**
+     * Current stock of the given items, read past the snapshot so a change
+     * that was just committed is always seen. Unknown items are left out.
+     */
+    public List<StockLevelUpdate> currentLevels(Collection<Long> itemIds) {
+        Map<Long, Level> found = new LinkedHashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            StockLedger.Level ledgerLevel = ledgerLevel(itemId);
+            if (ledgerLevel != null) {
+                found.put(itemId, new Level(ledgerLevel.available(), ledgerLevel.active(), true));
+            } else {
+                toLoad.add(itemId);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            found.putAll(loadAll(toLoad));
+        }
+
+        List<StockLevelUpdate> current = new ArrayList<>(found.size());
+        found.forEach((itemId, level) -> {
+            if (level.exists()) {
+                current.add(new StockLevelUpdate(itemId, level.available(), level.active()));
+            }
+        });
+        return current;
+    }
+
+    @EventListener
+    public void onItemsChanged(InventoryItemsChangedEvent event) {
+        if (event.all()) {
+            levels.invalidateAll();
+        } else {
+            levels.invalidateAll(event.itemIds());
+        }
+    }
+
+    private Level level(Long itemId) {
+        StockLedger.Level ledgerLevel = ledgerLevel(itemId);
+        if (ledgerLevel != null) {
+            return new Level(ledgerLevel.available(), ledgerLevel.active(), true);
+        }
+        Level cached = levels.getIfPresent(itemId);
+        inventoryMetrics.recordCacheLookup(CACHE_NAME, itemId, cached != null);
+        return cached != null ? cached : levels.get(itemId);
+    }
+
+    private StockLedger.Level ledgerLevel(Long itemId) {
+        return stockLedger.isEnabled() ? stockLedger.level(itemId) : null;
+    }
+
+    private Map<Long, Level> loadAll(Collection<? extends Long> itemIds) {
+        long started = System.nanoTime();
+        Map<Long, Level> loaded = new HashMap<>();
+        namedParameterJdbcTemplate.query(LOAD_SQL, Map.of("ids", itemIds), rs -> {
+            loaded.put(rs.getLong("id"), new Level(rs.getInt("available_quantity"), rs.getBoolean("active"), true));
+        });
+        inventoryMetrics.recordDbTime("availability", System.nanoTime() - started);
+        // unknown ids are remembered too, so they do not hit the database on every call
+        itemIds.forEach(itemId -> loaded.putIfAbsent(itemId, MISSING));
+        return loaded;
+    }
+
+    private static boolean isAvailable(Level level, Integer quantity) {
+        return quantity != null && quantity > 0 && level.active() && level.available() >= quantity;
+    }
+
+    private record Level(int available, boolean active, boolean exists) {
+    }
+}
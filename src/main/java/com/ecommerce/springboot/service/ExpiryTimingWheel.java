@@ -0,0 +1,167 @@
+package com.ecommerce.springboot.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by reservation ID. Scheduling and cancelling
+ * are O(1); {@link #advance(long)} returns every ID whose deadline has been
+ * reached, never earlier than the deadline and at most one tick after it.
+ * Deadlines beyond the first wheel's span go to coarser overflow wheels and are
+ * cascaded down as the clock moves.
+ */
+public class ExpiryTimingWheel {
+
+    private final int wheelSize;
+    private final Level root;
+    private final PriorityQueue<Bucket> pendingBuckets = new PriorityQueue<>(Comparator.comparingLong(b -> b.expiration));
+    private final Map<Long, Timer> timers = new HashMap<>();
+    private final Set<Long> overdue = new LinkedHashSet<>();
+
+    public ExpiryTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size greater than 1");
+        }
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    public synchronized void schedule(long id, long deadlineMs) {
+        cancel(id);
+        Timer timer = new Timer(id, deadlineMs + root.tickMs - 1);
+        timers.put(id, timer);
+        if (!root.add(timer)) {
+            overdue.add(id);
+        }
+    }
+
+    public synchronized boolean cancel(long id) {
+        Timer timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.bucket != null) {
+            timer.bucket.remove(timer);
+        }
+        overdue.remove(id);
+        return true;
+    }
+
+    public synchronized List<Long> advance(long nowMs) {
+        List<Long> due = new ArrayList<>(overdue);
+        overdue.clear();
+        due.forEach(timers::remove);
+
+        Bucket bucket;
+        while ((bucket = pendingBuckets.peek()) != null && bucket.expiration <= nowMs) {
+            pendingBuckets.poll();
+            root.advanceClock(bucket.expiration);
+            for (Timer timer : bucket.flush()) {
+                if (!root.add(timer)) {
+                    timers.remove(timer.id);
+                    due.add(timer.id);
+                }
+            }
+        }
+        root.advanceClock(nowMs);
+        return due;
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long tickMs, long startMs) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private boolean add(Timer timer) {
+            if (timer.expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (timer.expiration < currentTime + interval) {
+                long virtualId = timer.expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timer);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    pendingBuckets.add(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private final Set<Timer> timers = new HashSet<>();
+        private long expiration = -1;
+
+        private void add(Timer timer) {
+            timers.add(timer);
+            timer.bucket = this;
+        }
+
+        private void remove(Timer timer) {
+            if (timers.remove(timer)) {
+                timer.bucket = null;
+            }
+        }
+
+        private boolean setExpiration(long expiration) {
+            boolean changed = this.expiration != expiration;
+            this.expiration = expiration;
+            return changed;
+        }
+
+        private List<Timer> flush() {
+            List<Timer> flushed = new ArrayList<>(timers);
+            timers.clear();
+            flushed.forEach(timer -> timer.bucket = null);
+            expiration = -1;
+            return flushed;
+        }
+    }
+
+    private static final class Timer {
+        private final long id;
+        private final long expiration;
+        private Bucket bucket;
+
+        private Timer(long id, long expiration) {
+            this.id = id;
+            this.expiration = expiration;
+        }
+    }
+}
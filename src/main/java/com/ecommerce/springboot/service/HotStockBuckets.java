@@ -0,0 +1,302 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.InventoryException;
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot stock mode for flash-sale items. The available quantity of a hot item
+ * lives in {@code inventory_stock_buckets} rows instead of the item row, and a
+ * reservation only locks the bucket its customer hashes to, so concurrent
+ * reservations of one item no longer queue on a single row. When that bucket
+ * cannot cover a reservation, the item row and all of its buckets are locked
+ * once to pool the remaining stock and spread it evenly again.
+ *
+ * <p>For a hot item the exact available quantity is whatever is left on the
+ * item row plus the sum of its buckets, and the reserved quantity is the total
+ * minus that. The item row keeps {@code available + reserved = total}, so
+ * paths that still update the row (stock expiry, a node that has not noticed
+ * the mode yet) stay correct; units they put back on the row are moved into
+ * the buckets on the next rebalance.
+ *
+ * <p>Locks are taken item row first, then buckets in ascending order. A take
+ * that fails updates no bucket and holds no lock, so a single take per item
+ * keeps that order; a transaction that takes from one item more than once
+ * must lock the item row before the first take.
+ */
+@Slf4j
+@Component
+public class HotStockBuckets {
+
+    public static final int MAX_BUCKETS = 256;
+
+    private static final String HOT_ITEMS_SQL =
+            "SELECT id, stock_buckets FROM inventory_items WHERE stock_buckets > 0";
+
+    private static final String LOCK_ITEM_SQL =
+            "SELECT available_quantity, active, stock_buckets FROM inventory_items WHERE id = ? FOR UPDATE";
+
+    private static final String LOCK_BUCKETS_SQL =
+            "SELECT available_quantity FROM inventory_stock_buckets WHERE item_id = ? ORDER BY bucket FOR UPDATE";
+
+    private static final String TAKE_SQL =
+            "UPDATE inventory_stock_buckets SET available_quantity = available_quantity - ? " +
+            "WHERE item_id = ? AND bucket = ? AND available_quantity >= ? " +
+            "AND EXISTS (SELECT 1 FROM inventory_items i WHERE i.id = ? AND i.active = true)";
+
+    private static final String PUT_BACK_SQL =
+            "UPDATE inventory_stock_buckets SET available_quantity = available_quantity + ? " +
+            "WHERE item_id = ? AND bucket = ?";
+
+    private static final String SUM_SQL =
+            "SELECT COALESCE(SUM(available_quantity), 0) FROM inventory_stock_buckets WHERE item_id = ?";
+
+    private static final String SET_BUCKET_SQL =
+            "UPDATE inventory_stock_buckets SET available_quantity = ? WHERE item_id = ? AND bucket = ?";
+
+    private static final String INSERT_BUCKET_SQL =
+            "INSERT INTO inventory_stock_buckets (item_id, bucket, available_quantity) VALUES (?, ?, ?)";
+
+    private static final String DELETE_BUCKETS_SQL =
+            "DELETE FROM inventory_stock_buckets WHERE item_id = ?";
+
+    private static final String DRAIN_ITEM_SQL =
+            "UPDATE inventory_items SET available_quantity = 0, reserved_quantity = total_quantity, " +
+            "stock_buckets = ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String RESTORE_ITEM_SQL =
+            "UPDATE inventory_items SET available_quantity = ?, reserved_quantity = total_quantity - ?, " +
+            "stock_buckets = 0, version = version + 1, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Autowired
+    private LockContentionTracker lockContentionTracker;
+
+    // item id -> bucket count, replaced as a whole on every refresh
+    private volatile Map<Long, Integer> hotItems = Map.of();
+
+    public int buckets(Long itemId) {
+        return hotItems.getOrDefault(itemId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.refresh-ms:1000}")
+    public void refresh() {
+        Map<Long, Integer> loaded = new HashMap<>();
+        jdbcTemplate.query(HOT_ITEMS_SQL, rs -> {
+            loaded.put(rs.getLong("id"), rs.getInt("stock_buckets"));
+        });
+        hotItems = loaded;
+    }
+
+    /**
+     * Reserves from the buckets of a hot item. Returns false when the item is
+     * not in hot stock mode, in which case the caller reserves from the item
+     * row as usual.
+     */
+    public boolean reserve(Long itemId, int quantity, String customerId) {
+        return reserve(itemId, quantity, customerId, buckets(itemId));
+    }
+
+    public boolean reserve(Long itemId, int quantity, String customerId, int buckets) {
+        if (buckets <= 0) {
+            return false;
+        }
+        if (jdbcTemplate.update(TAKE_SQL, quantity, itemId, bucketFor(customerId, buckets), quantity, itemId) > 0) {
+            return true;
+        }
+        return rebalanceAndReserve(itemId, quantity);
+    }
+
+    /**
+     * Returns units to the customer's bucket. Returns false when the item is
+     * not in hot stock mode, in which case the caller releases to the item row.
+     */
+    public boolean release(Long itemId, int quantity, String customerId) {
+        int buckets = buckets(itemId);
+        if (buckets <= 0) {
+            return false;
+        }
+        if (jdbcTemplate.update(PUT_BACK_SQL, quantity, itemId, bucketFor(customerId, buckets)) > 0) {
+            return true;
+        }
+        forget(itemId);
+        return false;
+    }
+
+    /**
+     * Units left in the buckets of an item, to be added to the item row's
+     * available quantity.
+     */
+    public int bucketTotal(Long itemId) {
+        Integer total = jdbcTemplate.queryForObject(SUM_SQL, Integer.class, itemId);
+        return total == null ? 0 : total;
+    }
+
+    public void enable(Long itemId, int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new InventoryException("Bucket count must be between 1 and " + MAX_BUCKETS);
+        }
+        LockedItem item = lockItem(itemId);
+        if (!item.active()) {
+            throw new InventoryException("Cannot enable hot stock mode for inactive item with ID " + itemId);
+        }
+
+        int pool = item.available();
+        if (item.buckets() > 0) {
+            pool += lockBuckets(itemId).stream().mapToInt(Integer::intValue).sum();
+            jdbcTemplate.update(DELETE_BUCKETS_SQL, itemId);
+        }
+
+        List<Object[]> rows = new ArrayList<>(buckets);
+        int[] split = split(pool, buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            rows.add(new Object[]{itemId, bucket, split[bucket]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_BUCKET_SQL, rows);
+        jdbcTemplate.update(DRAIN_ITEM_SQL, buckets, now(), itemId);
+
+        log.info("Enabled hot stock mode for item ID: {} with {} buckets holding {} units", itemId, buckets, pool);
+        afterCommit(() -> remember(itemId, buckets));
+    }
+
+    public void disable(Long itemId) {
+        LockedItem item = lockItem(itemId);
+        if (item.buckets() == 0) {
+            return;
+        }
+
+        int available = item.available() + lockBuckets(itemId).stream().mapToInt(Integer::intValue).sum();
+        jdbcTemplate.update(RESTORE_ITEM_SQL, available, available, now(), itemId);
+        jdbcTemplate.update(DELETE_BUCKETS_SQL, itemId);
+
+        log.info("Disabled hot stock mode for item ID: {}, {} units moved back to the item", itemId, available);
+        afterCommit(() -> forget(itemId));
+    }
+
+    private boolean rebalanceAndReserve(Long itemId, int quantity) {
+        LockedItem item = lockItem(itemId);
+        if (item.buckets() == 0) {
+            forget(itemId);
+            return false;
+        }
+        if (!item.active()) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " is not active");
+        }
+
+        List<Integer> current = lockBuckets(itemId);
+        int pool = item.available() + current.stream().mapToInt(Integer::intValue).sum();
+        if (pool < quantity) {
+            throw new InsufficientStockException(
+                    String.format("Insufficient stock. Available: %d, Requested: %d", pool, quantity));
+        }
+
+        int[] split = split(pool - quantity, current.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int bucket = 0; bucket < split.length; bucket++) {
+            if (split[bucket] != current.get(bucket)) {
+                updates.add(new Object[]{split[bucket], itemId, bucket});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_BUCKET_SQL, updates);
+        }
+        if (item.available() > 0) {
+            jdbcTemplate.update(DRAIN_ITEM_SQL, item.buckets(), now(), itemId);
+        }
+
+        log.debug("Rebalanced {} units over {} buckets of item ID: {}", pool - quantity, split.length, itemId);
+        return true;
+    }
+
+    private LockedItem lockItem(Long itemId) {
+        int queued = lockContentionTracker.waiting(itemId);
+        long started = System.nanoTime();
+        List<LockedItem> items;
+        try {
+            items = jdbcTemplate.query(LOCK_ITEM_SQL, (rs, rowNum) -> {
+                return new LockedItem(rs.getInt("available_quantity"), rs.getBoolean("active"), rs.getInt("stock_buckets"));
+            }, itemId);
+        } finally {
+            long waited = System.nanoTime() - started;
+            lockContentionTracker.acquired(itemId, waited, queued);
+            inventoryMetrics.recordLockWait(waited);
+        }
+        if (items.isEmpty()) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " not found");
+        }
+        return items.get(0);
+    }
+
+    private List<Integer> lockBuckets(Long itemId) {
+        return jdbcTemplate.query(LOCK_BUCKETS_SQL, (rs, rowNum) -> {
+            return rs.getInt("available_quantity");
+        }, itemId);
+    }
+
+    private synchronized void remember(Long itemId, int buckets) {
+        Map<Long, Integer> updated = new HashMap<>(hotItems);
+        updated.put(itemId, buckets);
+        hotItems = updated;
+    }
+
+    private synchronized void forget(Long itemId) {
+        if (hotItems.containsKey(itemId)) {
+            Map<Long, Integer> updated = new HashMap<>(hotItems);
+            updated.remove(itemId);
+            hotItems = updated;
+        }
+    }
+
+    static int bucketFor(String customerId, int buckets) {
+        return customerId == null ? 0 : Math.floorMod(customerId.hashCode(), buckets);
+    }
+
+    static int[] split(int units, int buckets) {
+        int[] split = new int[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            split[bucket] = units / buckets + (bucket < units % buckets ? 1 : 0);
+        }
+        return split;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record LockedItem(int available, boolean active, int buckets) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.cache.TwoTierCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single place that knows which cache entries are derived from an inventory
+ * item: its id, its {@code sku_} entry and the keyset page that contains it.
+ * Changes are collected per transaction and evicted together once it commits;
+ * with a Redis cache that is one multi-key DEL instead of a round trip per key.
+ * Other in-memory views listen for the resulting {@link InventoryItemsChangedEvent}.
+ */
+@Slf4j
+@Component
+public class InventoryCacheInvalidator {
+
+    public static final String ITEM_CACHE = "inventory";
+
+    private static final String SKU_SQL = "SELECT id, sku FROM inventory_items WHERE id IN (:ids)";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private InventoryPageCache inventoryPageCache;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisCacheConfiguration redisCacheConfiguration;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    // SKUs never change, so the id -> sku mapping can be kept without invalidation
+    private final com.github.benmanes.caffeine.cache.Cache<Long, String> skuById = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    public void itemChanged(Long itemId, String sku) {
+        if (sku != null) {
+            skuById.put(itemId, sku);
+        }
+        itemsChanged(List.of(itemId));
+    }
+
+    public void itemChanged(Long itemId) {
+        itemsChanged(List.of(itemId));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void itemsChanged(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(itemIds);
+            return;
+        }
+
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> changed = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        evict(changed);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to evict cache entries for item IDs {}", changed, e);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InventoryCacheInvalidator.this);
+                }
+            });
+            pending = changed;
+        }
+        pending.addAll(itemIds);
+    }
+
+    public void allChanged() {
+        Runnable clear = () -> {
+            Cache cache = cacheManager.getCache(ITEM_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+            inventoryPageCache.evictAll();
+            applicationEventPublisher.publishEvent(InventoryItemsChangedEvent.allItems());
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear.run();
+            }
+        });
+    }
+
+    private void evict(Collection<Long> itemIds) {
+        Set<Object> itemKeys = new LinkedHashSet<>(itemIds);
+        resolveSkus(itemIds).forEach(sku -> itemKeys.add("sku_" + sku));
+
+        List<String> pageKeys = inventoryPageCache.removeCovering(itemIds);
+
+        Map<String, Collection<?>> keysByCache = new LinkedHashMap<>();
+        keysByCache.put(ITEM_CACHE, itemKeys);
+        if (!pageKeys.isEmpty()) {
+            keysByCache.put(InventoryPageCache.CACHE_NAME, pageKeys);
+        }
+
+        if (cacheManager instanceof RedisCacheManager || cacheManager instanceof TwoTierCacheManager) {
+            evictFromRedis(keysByCache);
+        } else {
+            keysByCache.forEach(this::evictOneByOne);
+        }
+        log.debug("Evicted cache entries for item IDs {}", itemIds);
+        applicationEventPublisher.publishEvent(InventoryItemsChangedEvent.of(itemIds));
+    }
+
+    private void evictFromRedis(Map<String, Collection<?>> keysByCache) {
+        List<String> redisKeys = new ArrayList<>();
+        keysByCache.forEach((cacheName, keys) -> {
+            String prefix = redisCacheConfiguration.getKeyPrefixFor(cacheName);
+            keys.forEach(key -> redisKeys.add(prefix + key));
+        });
+
+        try {
+            redisTemplate.delete(redisKeys);
+        } catch (RuntimeException e) {
+            log.warn("Multi-key cache eviction failed, evicting one by one: {}", e.getMessage());
+            keysByCache.forEach(this::evictOneByOne);
+            return;
+        }
+
+        if (cacheManager instanceof TwoTierCacheManager twoTier) {
+            keysByCache.forEach(twoTier::evictLocal);
+        }
+    }
+
+    private void evictOneByOne(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    private Collection<String> resolveSkus(Collection<Long> itemIds) {
+        Map<Long, String> known = skuById.getAllPresent(itemIds);
+        List<Long> missing = itemIds.stream().filter(id -> !known.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return known.values();
+        }
+
+        List<String> skus = new ArrayList<>(known.values());
+        namedParameterJdbcTemplate.query(SKU_SQL, Map.of("ids", missing), rs -> {
+            skuById.put(rs.getLong("id"), rs.getString("sku"));
+            skus.add(rs.getString("sku"));
+        });
+        return skus;
+    }
+}
@@ -0,0 +1,329 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ImportError;
+import com.ecommerce.springboot.dto.ImportReport;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.exception.InventoryException;
+import com.ecommerce.springboot.outbox.InventoryChange;
+import com.ecommerce.springboot.outbox.InventoryChangeType;
+import com.ecommerce.springboot.outbox.OutboxWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk upsert of inventory items from NDJSON or CSV. The body is read line by
+ * line and written in chunks, so memory use does not depend on the file size.
+ * Existing SKUs are updated, new SKUs are inserted, and rows that fail parsing,
+ * validation or the write are reported individually.
+ */
+@Slf4j
+@Service
+public class InventoryImportService {
+
+    private static final String FIND_EXISTING_SQL = "SELECT id, sku, stock_buckets FROM inventory_items WHERE sku IN (:skus)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE inventory_items SET item_name = ?, description = ?, price = ?, total_quantity = ?, " +
+            "available_quantity = ? - reserved_quantity, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND reserved_quantity <= ? AND stock_buckets = 0";
+
+    private static final List<String> CSV_COLUMNS = List.of("itemname", "sku", "description", "price", "totalquantity");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${inventory.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    public ImportReport importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return importLines(reader, 0, line -> objectMapper.readValue(line, CreateInventoryItemRequest.class));
+    }
+
+    public ImportReport importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new ImportReport();
+        }
+
+        List<String> names = CsvLineParser.split(header.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new InventoryException("CSV header must contain itemName, sku, description, price and totalQuantity");
+        }
+
+        return importLines(reader, 1, line -> toRequest(CsvLineParser.split(line), columns));
+    }
+
+    private ImportReport importLines(BufferedReader reader, long lineNumber, LineParser parser) throws IOException {
+        log.info("Starting inventory import");
+        ImportReport report = new ImportReport();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkSkus = new HashSet<>();
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+
+                CreateInventoryItemRequest request;
+                try {
+                    request = parser.parse(line);
+                } catch (Exception e) {
+                    addError(report, new ImportError(lineNumber, null, "Malformed record: " + e.getMessage()));
+                    continue;
+                }
+                if (request == null) {
+                    addError(report, new ImportError(lineNumber, null, "Empty record"));
+                    continue;
+                }
+
+                Set<ConstraintViolation<CreateInventoryItemRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    addError(report, new ImportError(lineNumber, request.getSku(), violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining(", "))));
+                    continue;
+                }
+                if (!chunkSkus.add(request.getSku())) {
+                    addError(report, new ImportError(lineNumber, request.getSku(),
+                            "Duplicate SKU within the same chunk"));
+                    continue;
+                }
+
+                chunk.add(new ImportRow(lineNumber, request));
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                    chunkSkus.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, report);
+            }
+        } finally {
+            // chunks commit on their own, so a read failure halfway must not leave their items cached
+            inventoryCacheInvalidator.allChanged();
+        }
+
+        log.info("Inventory import finished: processed {}, created {}, updated {}, failed {}",
+                report.getProcessed(), report.getCreated(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    private void writeChunk(List<ImportRow> chunk, ImportReport report) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> upsert(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() > 1) {
+                log.warn("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (ImportRow row : chunk) {
+                    writeChunk(List.of(row), report);
+                }
+            } else {
+                ImportRow row = chunk.get(0);
+                addError(report, new ImportError(row.lineNumber(), row.request().getSku(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+            return;
+        }
+
+        report.setCreated(report.getCreated() + result.created);
+        report.setUpdated(report.getUpdated() + result.updatedIds.size());
+        result.errors.forEach(error -> addError(report, error));
+        if (stockLedger.isEnabled()) {
+            result.updatedIds.forEach(stockLedger::evict);
+        }
+    }
+
+    private ChunkResult upsert(List<ImportRow> chunk) {
+        ChunkResult result = new ChunkResult();
+        Map<String, Long> existing = new HashMap<>();
+        Set<String> hot = new HashSet<>();
+        namedParameterJdbcTemplate.query(FIND_EXISTING_SQL,
+                Map.of("skus", chunk.stream().map(row -> row.request().getSku()).collect(Collectors.toList())),
+                rs -> {
+                    existing.put(rs.getString("sku"), rs.getLong("id"));
+                    if (rs.getInt("stock_buckets") > 0) {
+                        hot.add(rs.getString("sku"));
+                    }
+                });
+
+        List<ImportRow> updates = new ArrayList<>();
+        List<InventoryItem> created = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            CreateInventoryItemRequest request = row.request();
+            if (hot.contains(request.getSku())) {
+                result.errors.add(new ImportError(row.lineNumber(), request.getSku(),
+                        "Item is in hot stock mode, disable it before importing"));
+                continue;
+            }
+            if (existing.containsKey(request.getSku())) {
+                updates.add(row);
+                continue;
+            }
+            InventoryItem item = new InventoryItem(
+                    request.getItemName(),
+                    request.getSku(),
+                    request.getDescription(),
+                    request.getPrice(),
+                    request.getTotalQuantity()
+            );
+            entityManager.persist(item);
+            created.add(item);
+            result.created++;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<InventoryChange> changes = new ArrayList<>(chunk.size());
+        created.forEach(item ->
+                changes.add(new InventoryChange(InventoryChangeType.CREATED, item.getId(), null, item.getTotalQuantity())));
+
+        if (updates.isEmpty()) {
+            outboxWriter.write(changes);
+            return result;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, row) -> {
+            CreateInventoryItemRequest request = row.request();
+            ps.setString(1, request.getItemName());
+            ps.setString(2, request.getDescription());
+            ps.setBigDecimal(3, request.getPrice());
+            ps.setInt(4, request.getTotalQuantity());
+            ps.setInt(5, request.getTotalQuantity());
+            ps.setTimestamp(6, now);
+            ps.setLong(7, existing.get(request.getSku()));
+            ps.setInt(8, request.getTotalQuantity());
+        });
+
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                ImportRow row = updates.get(index++);
+                if (count == 0) {
+                    result.errors.add(new ImportError(row.lineNumber(), row.request().getSku(),
+                            "Total quantity is below the quantity currently reserved"));
+                } else {
+                    Long itemId = existing.get(row.request().getSku());
+                    result.updatedIds.add(itemId);
+                    changes.add(new InventoryChange(InventoryChangeType.IMPORTED, itemId, null,
+                            row.request().getTotalQuantity()));
+                }
+            }
+        }
+        outboxWriter.write(changes);
+        return result;
+    }
+
+    private void addError(ImportReport report, ImportError error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(error);
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static CreateInventoryItemRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+        String price = field(fields, columns, "price");
+        String totalQuantity = field(fields, columns, "totalquantity");
+        return new CreateInventoryItemRequest(
+                field(fields, columns, "itemname"),
+                field(fields, columns, "sku"),
+                field(fields, columns, "description"),
+                price == null ? null : new BigDecimal(price),
+                totalQuantity == null ? null : Integer.valueOf(totalQuantity)
+        );
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        CreateInventoryItemRequest parse(String line) throws Exception;
+    }
+
+    private record ImportRow(long lineNumber, CreateInventoryItemRequest request) {
+    }
+
+    private static final class ChunkResult {
+        private long created;
+        private final List<Long> updatedIds = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.springboot.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by {@link InventoryCacheInvalidator} after a commit that changed
+ * the given items, or every item when {@code all} is set. Changes committed on
+ * another node arrive through {@link ItemChangeBroadcaster} with
+ * {@code remote} set.
+ */
+public record InventoryItemsChangedEvent(Collection<Long> itemIds, boolean all, boolean remote) {
+
+    public static InventoryItemsChangedEvent of(Collection<Long> itemIds) {
+        return new InventoryItemsChangedEvent(List.copyOf(itemIds), false, false);
+    }
+
+    public static InventoryItemsChangedEvent allItems() {
+        return new InventoryItemsChangedEvent(List.of(), true, false);
+    }
+
+    public static InventoryItemsChangedEvent remoteOf(Collection<Long> itemIds) {
+        return new InventoryItemsChangedEvent(List.copyOf(itemIds), false, true);
+    }
+
+    public static InventoryItemsChangedEvent remoteAllItems() {
+        return new InventoryItemsChangedEvent(List.of(), true, true);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.cache.TwoTierCacheManager;
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Caches keyset pages of active items under {@code page_<afterId>_<size>} in
+ * the {@code inventory_pages} cache. Each page covers the id range
+ * {@code (afterId, lastId]}, or everything after {@code afterId} for the last
+ * page, so a change to one item only evicts the page that contains it (see
+ * {@link InventoryCacheInvalidator}). The ranges live wherever the pages do:
+ * in Redis when the cache is shared between nodes, so a change on one node
+ * evicts pages cached by any other, and in memory otherwise.
+ */
+@Component
+public class InventoryPageCache {
+
+    public static final String CACHE_NAME = "inventory_pages";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${spring.cache.redis.time-to-live:600000}")
+    private long timeToLiveMs = 600_000;
+
+    private PageRangeIndex rangeIndex = new LocalPageRangeIndex();
+
+    @PostConstruct
+    public void init() {
+        if (cacheManager instanceof RedisCacheManager || cacheManager instanceof TwoTierCacheManager) {
+            rangeIndex = new RedisPageRangeIndex(redisTemplate, Duration.ofMillis(timeToLiveMs));
+        }
+    }
+
+    public InventoryPage get(long afterId, int size) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return null;
+        }
+        String key = key(afterId, size);
+        InventoryPage page = cache.get(key, InventoryPage.class);
+        inventoryMetrics.recordCacheLookup(CACHE_NAME, key, page != null);
+        return page;
+    }
+
+    public void put(long afterId, int size, InventoryPage page, long upperBound) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+
+        // the range is recorded before the page is written, so an eviction never misses a page it should remove
+        for (Long displaced : rangeIndex.add(size, afterId, upperBound)) {
+            cache.evict(key(displaced, size));
+        }
+        cache.put(key(afterId, size), page);
+    }
+
+    /**
+     * Forgets the pages covering any of {@code itemIds} and returns their
+     * cache keys; the caller evicts them from the cache.
+     */
+    public List<String> removeCovering(Collection<Long> itemIds) {
+        List<String> keys = new ArrayList<>();
+        if (itemIds.isEmpty()) {
+            return keys;
+        }
+        rangeIndex.removeCovering(itemIds).forEach(page -> keys.add(key(page.afterId(), page.size())));
+        return keys;
+    }
+
+    public void evictAll() {
+        rangeIndex.clear();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static String key(long afterId, int size) {
+        return "page_" + afterId + "_" + size;
+    }
+}
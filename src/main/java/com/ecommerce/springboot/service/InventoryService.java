@@ -1,21 +1,42 @@
 package com.ecommerce.springboot.service;
 
 import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.dto.LockContentionResponse;
 import com.ecommerce.springboot.entity.InventoryItem;
 import com.ecommerce.springboot.entity.InventoryItemResponse;
 import com.ecommerce.springboot.exception.InventoryException;
 import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import com.ecommerce.springboot.outbox.InventoryChangeType;
+import com.ecommerce.springboot.outbox.OutboxWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.ecommerce.springboot.repository.InventoryRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
@@ -26,8 +47,41 @@ public class InventoryService {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryPageCache inventoryPageCache;
+
+    @Autowired
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Autowired
+    private HotStockBuckets hotStockBuckets;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Autowired
+    private LockContentionTracker lockContentionTracker;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${inventory.reservation.mode:LOCKING}")
+    private ReservationMode reservationMode = ReservationMode.LOCKING;
+
     @Transactional
-    @CacheEvict(value = "inventory", allEntries = true)
     public InventoryItemResponse createInventoryItem(CreateInventoryItemRequest request) {
         log.info("Creating inventory item with SKU: {}", request.getSku());
 
@@ -41,6 +95,8 @@ public class InventoryService {
             );
 
             InventoryItem savedItem = inventoryRepository.save(item);
+            outboxWriter.itemChanged(InventoryChangeType.CREATED, savedItem.getId(), savedItem.getTotalQuantity());
+            inventoryCacheInvalidator.itemChanged(savedItem.getId(), savedItem.getSku());
             log.info("Successfully created inventory item with ID: {}", savedItem.getId());
 
             return mapToResponse(savedItem);
@@ -51,30 +107,34 @@ public class InventoryService {
     }
 
     @Transactional
-    @CacheEvict(value = "inventory", key = "#itemId")
     public InventoryItemResponse deactivateItem(Long itemId) {
         log.info("Deactivating item ID: {}", itemId);
 
-        InventoryItem item = inventoryRepository.findByIdWithLock(itemId)
+        InventoryItem item = lockItem(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
 
         item.setActive(false);
         InventoryItem savedItem = inventoryRepository.save(item);
+        if (reservationMode == ReservationMode.LEDGER) {
+            stockLedger.deactivateAfterCommit(itemId);
+        }
+        outboxWriter.itemChanged(InventoryChangeType.DEACTIVATED, itemId, 0);
+        inventoryCacheInvalidator.itemChanged(itemId, item.getSku());
         log.info("Successfully deactivated item ID: {}", itemId);
 
         return mapToResponse(savedItem);
     }
 
     @Transactional
-    @CacheEvict(value = "inventory", key = "#itemId")
     public InventoryItemResponse addSupply(Long itemId, Integer quantity) {
         log.info("Adding supply to item ID: {}, quantity: {}", itemId, quantity);
+        inventoryMetrics.beginOperation("supply");
 
         if (quantity == null || quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than 0");
         }
 
-        InventoryItem item = inventoryRepository.findByIdWithLock(itemId)
+        InventoryItem item = lockItem(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
 
         if (!item.getActive()) {
@@ -83,16 +143,90 @@ public class InventoryService {
 
         Integer currentTotal = item.getTotalQuantity();
 
+        if (reservationMode == ReservationMode.LEDGER) {
+            StockLedger.Level level = stockLedger.level(itemId);
+            if (level != null) {
+                item.setAvailableQuantity(level.available());
+                item.setReservedQuantity(level.reserved());
+            }
+            stockLedger.addSupplyAfterCommit(itemId, quantity);
+        }
+
         item.setTotalQuantity(currentTotal + quantity);
         item.setAvailableQuantity(item.getAvailableQuantity() + quantity);
 
         InventoryItem savedItem = inventoryRepository.save(item);
+        outboxWriter.itemChanged(InventoryChangeType.SUPPLIED, itemId, quantity);
+        inventoryCacheInvalidator.itemChanged(itemId, item.getSku());
         log.info("Successfully added {} units to item ID: {}. New total: {}",
                 quantity, itemId, currentTotal + quantity);
 
         return mapToResponse(savedItem);
     }
 
+    @Transactional
+    public InventoryItemResponse enableHotStock(Long itemId, Integer buckets) {
+        log.info("Enabling hot stock mode for item ID: {} with {} buckets", itemId, buckets);
+
+        if (reservationMode == ReservationMode.LEDGER) {
+            throw new InventoryException("Hot stock mode is not available in LEDGER reservation mode");
+        }
+        if (buckets == null) {
+            throw new InventoryException("Bucket count is required");
+        }
+
+        hotStockBuckets.enable(itemId, buckets);
+        inventoryCacheInvalidator.itemChanged(itemId);
+        return mapToResponse(inventoryRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found")));
+    }
+
+    @Transactional
+    public InventoryItemResponse disableHotStock(Long itemId) {
+        log.info("Disabling hot stock mode for item ID: {}", itemId);
+
+        hotStockBuckets.disable(itemId);
+        inventoryCacheInvalidator.itemChanged(itemId);
+        return mapToResponse(inventoryRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found")));
+    }
+
+    /**
+     * The items whose row locks were waited on the most, as tracked by
+     * {@link LockContentionTracker}, highest wait first.
+     */
+    @Transactional
+    public List<LockContentionResponse> getLockContention(int limit) {
+        List<LockContentionTracker.Contention> top = lockContentionTracker.top(limit);
+        Map<Long, InventoryItem> items = inventoryRepository.findAllById(top.stream()
+                        .map(LockContentionTracker.Contention::itemId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(InventoryItem::getId, Function.identity()));
+
+        return top.stream()
+                .map(contention -> {
+                    InventoryItem item = items.get(contention.itemId());
+                    return new LockContentionResponse(
+                            contention.itemId(),
+                            item == null ? null : item.getSku(),
+                            item == null ? null : item.getStockBuckets(),
+                            contention.score() / 1_000_000.0,
+                            contention.error() / 1_000_000.0,
+                            contention.acquisitions(),
+                            contention.totalWaitNanos() / 1_000_000.0,
+                            contention.maxWaitNanos() / 1_000_000.0,
+                            contention.maxQueued(),
+                            contention.waitingNow()
+                    );
+                })
+                .collect(Collectors.toList());
+    }
+
+    public void resetLockContention() {
+        log.info("Resetting lock contention tracking");
+        lockContentionTracker.reset();
+    }
+
     @Transactional
     @Cacheable(value = "inventory", key = "'sku_' + #sku")
     public InventoryItemResponse getItemBySku(String sku) {
@@ -110,7 +244,6 @@ public class InventoryService {
     }
 
     @Transactional
-    @Cacheable(value = "inventory", key = "'all_active_items'")
     public List<InventoryItemResponse> getAllActiveItems() {
         log.info("Retrieving all active inventory items");
 
@@ -124,9 +257,64 @@ public class InventoryService {
         return responses;
     }
 
+    @Transactional
+    public InventoryPage getActiveItemsPage(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new InventoryException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = decodeCursor(cursor);
+        log.debug("Retrieving active inventory items after ID: {}, page size: {}", afterId, pageSize);
+
+        InventoryPage cached = inventoryPageCache.get(afterId, pageSize);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<InventoryItem> items = inventoryRepository.findActivePage(afterId, PageRequest.of(0, pageSize));
+        boolean lastPage = items.size() < pageSize;
+        long lastId = items.isEmpty() ? afterId : items.get(items.size() - 1).getId();
+
+        InventoryPage page = new InventoryPage(
+                items.stream().map(this::mapToResponse).collect(Collectors.toList()),
+                lastPage ? null : encodeCursor(lastId)
+        );
+        inventoryPageCache.put(afterId, pageSize, page, lastPage ? Long.MAX_VALUE : lastId);
+        return page;
+    }
+
+    @Transactional
+    public long exportActiveItems(OutputStream out) {
+        log.info("Exporting active inventory items");
+
+        long exported = 0;
+        try (Stream<InventoryItem> items = inventoryRepository.streamActive();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<InventoryItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                InventoryItem item = iterator.next();
+                objectMapper.writeValue(generator, mapToResponse(item));
+                generator.writeRaw('\n');
+                entityManager.detach(item);
+
+                if (++exported % EXPORT_FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exported {} active inventory items", exported);
+        return exported;
+    }
+
     @Transactional
     public boolean isItemAvailable(Long itemId, Integer quantity) {
-        log.info("Checking availability for item ID: {}, requested quantity: {}", itemId, quantity);
+        log.debug("Checking availability for item ID: {}, requested quantity: {}", itemId, quantity);
 
         if (quantity == null || quantity <= 0) {
             log.warn("Invalid quantity requested: {}", quantity);
@@ -141,13 +329,56 @@ public class InventoryService {
             return false;
         }
 
-        boolean isAvailable = item.getAvailableQuantity() >= quantity;
-        log.info("Item ID: {} availability check - requested: {}, available: {}, result: {}",
-                itemId, quantity, item.getAvailableQuantity(), isAvailable);
+        int available = availableQuantity(item);
+        boolean isAvailable = available >= quantity;
+        log.debug("Item ID: {} availability check - requested: {}, available: {}, result: {}",
+                itemId, quantity, available, isAvailable);
 
         return isAvailable;
     }
+
+    private static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InventoryException("Invalid page cursor");
+        }
+    }
+
+    private static boolean isHot(InventoryItem item) {
+        return item.getStockBuckets() != null && item.getStockBuckets() > 0;
+    }
+
+    private int availableQuantity(InventoryItem item) {
+        if (!isHot(item)) {
+            return item.getAvailableQuantity();
+        }
+        return item.getAvailableQuantity() + hotStockBuckets.bucketTotal(item.getId());
+    }
+
+    private Optional<InventoryItem> lockItem(Long itemId) {
+        int queued = lockContentionTracker.waiting(itemId);
+        long started = System.nanoTime();
+        try {
+            return inventoryRepository.findByIdWithLock(itemId);
+        } finally {
+            long waited = System.nanoTime() - started;
+            lockContentionTracker.acquired(itemId, waited, queued);
+            inventoryMetrics.recordLockWait(waited);
+        }
+    }
+
     private InventoryItemResponse mapToResponse(InventoryItem item) {
+        int available = availableQuantity(item);
+        int reserved = isHot(item) ? item.getTotalQuantity() - available : item.getReservedQuantity();
         return new InventoryItemResponse(
                 item.getId(),
                 item.getItemName(),
@@ -155,8 +386,8 @@ public class InventoryService {
                 item.getDescription(),
                 item.getPrice(),
                 item.getTotalQuantity(),
-                item.getAvailableQuantity(),
-                item.getReservedQuantity(),
+                available,
+                reserved,
                 item.getActive(),
                 item.getCreatedAt(),
                 item.getUpdatedAt()
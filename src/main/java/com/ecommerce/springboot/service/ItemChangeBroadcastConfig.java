@@ -0,0 +1,22 @@
+package com.ecommerce.springboot.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.changes.broadcast.enabled", havingValue = "true")
+public class ItemChangeBroadcastConfig {
+
+    @Bean
+    public RedisMessageListenerContainer itemChangeListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     ItemChangeBroadcaster itemChangeBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(itemChangeBroadcaster, new ChannelTopic(ItemChangeBroadcaster.CHANNEL));
+        return container;
+    }
+}
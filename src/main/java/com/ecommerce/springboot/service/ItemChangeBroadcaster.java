@@ -0,0 +1,82 @@
+package com.ecommerce.springboot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Relays {@link InventoryItemsChangedEvent} between nodes over the Redis
+ * channel {@link #CHANNEL}, so the in-memory views that listen to it (the
+ * stock level stream, the availability snapshot) also see changes committed
+ * on other nodes. A received change is published on this node as a remote
+ * event, which is not sent on again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.changes.broadcast.enabled", havingValue = "true")
+public class ItemChangeBroadcaster implements MessageListener {
+
+    public static final String CHANNEL = "inventory:items:changed";
+
+    private static final String SEPARATOR = "\t";
+    private static final String ALL_ITEMS = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @EventListener
+    public void onItemsChanged(InventoryItemsChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        String items = event.all() ? ALL_ITEMS
+                : event.itemIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + items);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast changed items, other nodes rely on their staleness bounds: {}",
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        if (ALL_ITEMS.equals(parts[1])) {
+            applicationEventPublisher.publishEvent(InventoryItemsChangedEvent.remoteAllItems());
+            return;
+        }
+        List<Long> itemIds = new ArrayList<>();
+        for (String itemId : parts[1].split(",")) {
+            try {
+                itemIds.add(Long.valueOf(itemId));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed item ID in change broadcast: {}", itemId);
+            }
+        }
+        if (!itemIds.isEmpty()) {
+            applicationEventPublisher.publishEvent(InventoryItemsChangedEvent.remoteOf(itemIds));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.springboot.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Page ranges kept in this node's memory, for caches that are local to the
+ * node as well.
+ */
+class LocalPageRangeIndex implements PageRangeIndex {
+
+    // page size -> (afterId -> last id covered)
+    private final Map<Integer, NavigableMap<Long, Long>> ranges = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public List<Long> add(int size, long afterId, long upperBound) {
+        List<Long> displaced = new ArrayList<>();
+        lock.lock();
+        try {
+            NavigableMap<Long, Long> bySize = ranges.computeIfAbsent(size, s -> new TreeMap<>());
+
+            Map.Entry<Long, Long> previous = bySize.lowerEntry(afterId);
+            if (previous != null && previous.getValue() > afterId) {
+                bySize.remove(previous.getKey());
+                displaced.add(previous.getKey());
+            }
+            Iterator<Long> overlapping = bySize.subMap(afterId, true, upperBound, false).keySet().iterator();
+            while (overlapping.hasNext()) {
+                displaced.add(overlapping.next());
+                overlapping.remove();
+            }
+
+            bySize.put(afterId, upperBound);
+        } finally {
+            lock.unlock();
+        }
+        return displaced;
+    }
+
+    @Override
+    public List<PageRef> removeCovering(Collection<Long> itemIds) {
+        List<PageRef> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            ranges.forEach((size, bySize) -> {
+                for (Long itemId : itemIds) {
+                    Map.Entry<Long, Long> page = bySize.lowerEntry(itemId);
+                    if (page != null && page.getValue() >= itemId) {
+                        bySize.remove(page.getKey());
+                        removed.add(new PageRef(size, page.getKey()));
+                    }
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            ranges.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
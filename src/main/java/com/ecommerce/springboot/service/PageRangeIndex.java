@@ -0,0 +1,29 @@
+package com.ecommerce.springboot.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Id ranges of the keyset pages held in the {@code inventory_pages} cache,
+ * per page size. A page starting after {@code afterId} covers
+ * {@code (afterId, upperBound]}; ranges of one size never overlap.
+ */
+interface PageRangeIndex {
+
+    /**
+     * Records a page and returns the {@code afterId} of every page of the same
+     * size whose range it overlaps; those are removed from the index and must
+     * be evicted by the caller.
+     */
+    List<Long> add(int size, long afterId, long upperBound);
+
+    /**
+     * Removes the pages covering any of the given items and returns them.
+     */
+    List<PageRef> removeCovering(Collection<Long> itemIds);
+
+    void clear();
+
+    record PageRef(int size, long afterId) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.cache.TwoTierCacheManager;
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking reads for the reactive inventory routes. Cached items are read
+ * with the reactive Redis client and availability from the in-memory
+ * snapshot; only a miss runs the blocking service call, on a bounded
+ * scheduler of {@code inventory.reactive.blocking-threads} threads.
+ */
+@Slf4j
+@Component
+public class ReactiveInventoryReader {
+
+    @Autowired
+    private ReactiveRedisTemplate<String, Object> reactiveCacheRedisTemplate;
+
+    @Autowired
+    private RedisCacheConfiguration redisCacheConfiguration;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Value("${inventory.reactive.blocking-threads:16}")
+    private int blockingThreads = 16;
+
+    @Value("${inventory.reactive.blocking-queue:10000}")
+    private int blockingQueue = 10_000;
+
+    private Scheduler blockingScheduler;
+
+    @PostConstruct
+    public void init() {
+        blockingScheduler = Schedulers.newBoundedElastic(blockingThreads, blockingQueue, "inventory-reads");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        blockingScheduler.dispose();
+    }
+
+    public Mono<InventoryItemResponse> getItemBySku(String sku) {
+        Mono<InventoryItemResponse> fromService = blocking(() -> inventoryService.getItemBySku(sku));
+        if (!redisBacked()) {
+            return fromService;
+        }
+
+        String cacheKey = "sku_" + sku;
+        String key = redisCacheConfiguration.getKeyPrefixFor(InventoryCacheInvalidator.ITEM_CACHE) + cacheKey;
+        return reactiveCacheRedisTemplate.opsForValue().get(key)
+                .ofType(InventoryItemResponse.class)
+                .onErrorResume(e -> {
+                    log.debug("Reactive cache read of {} failed, falling back: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnNext(item -> inventoryMetrics.recordCacheLookup(InventoryCacheInvalidator.ITEM_CACHE, cacheKey, true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    inventoryMetrics.recordCacheLookup(InventoryCacheInvalidator.ITEM_CACHE, cacheKey, false);
+                    return fromService;
+                }));
+    }
+
+    public Mono<Boolean> isItemAvailable(Long itemId, Integer quantity) {
+        Boolean cached = availabilitySnapshot.cachedAvailability(itemId, quantity);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return blocking(() -> availabilitySnapshot.isAvailable(itemId, quantity));
+    }
+
+    public Mono<InventoryPage> getActiveItemsPage(String cursor, Integer size) {
+        return blocking(() -> inventoryService.getActiveItemsPage(cursor, size));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(blockingScheduler);
+    }
+
+    private boolean redisBacked() {
+        return cacheManager instanceof RedisCacheManager || cacheManager instanceof TwoTierCacheManager;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.springboot.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Page ranges kept in Redis next to the shared page cache, so a change on any
+ * node, or on a node that restarted since the page was cached, evicts the
+ * right page. Each page size has a sorted set of {@code afterId:upperBound}
+ * members scored by {@code afterId}; the covering page of an item is the
+ * member with the highest score below its id. Updates run as Lua scripts, so
+ * concurrent nodes never leave overlapping ranges behind. The index keys
+ * expire with the page TTL, counted from the last page put.
+ */
+class RedisPageRangeIndex implements PageRangeIndex {
+
+    static final String SIZES_KEY = "inventory:pages:sizes";
+    static final String RANGES_KEY_PREFIX = "inventory:pages:ranges:";
+
+    // KEYS: ranges of the size, sizes set; ARGV: afterId, upperBound, ttl ms, size
+    private static final RedisScript<List> ADD_SCRIPT = new DefaultRedisScript<>("""
+            local displaced = {}
+            local previous = redis.call('ZREVRANGEBYSCORE', KEYS[1], '(' .. ARGV[1], '-inf', 'LIMIT', 0, 1)[1]
+            if previous then
+              local afterId, upper = string.match(previous, '^(%d+):(%d+)$')
+              if tonumber(upper) > tonumber(ARGV[1]) then
+                redis.call('ZREM', KEYS[1], previous)
+                table.insert(displaced, afterId)
+              end
+            end
+            for _, page in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '(' .. ARGV[2])) do
+              redis.call('ZREM', KEYS[1], page)
+              table.insert(displaced, string.match(page, '^(%d+):'))
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[1] .. ':' .. ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('SADD', KEYS[2], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            return displaced
+            """, List.class);
+
+    // KEYS: sizes set; ARGV: ranges key prefix, item ids. Returns size, afterId pairs.
+    // the ranges keys are built inside the script rather than declared, which rules out Redis Cluster
+    private static final RedisScript<List> REMOVE_COVERING_SCRIPT = new DefaultRedisScript<>("""
+            local removed = {}
+            for _, size in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+              local key = ARGV[1] .. size
+              for i = 2, #ARGV do
+                local page = redis.call('ZREVRANGEBYSCORE', key, '(' .. ARGV[i], '-inf', 'LIMIT', 0, 1)[1]
+                if page then
+                  local afterId, upper = string.match(page, '^(%d+):(%d+)$')
+                  if tonumber(upper) >= tonumber(ARGV[i]) then
+                    redis.call('ZREM', key, page)
+                    table.insert(removed, size)
+                    table.insert(removed, afterId)
+                  end
+                end
+              end
+            end
+            return removed
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    RedisPageRangeIndex(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> add(int size, long afterId, long upperBound) {
+        List<String> displaced = redisTemplate.execute(ADD_SCRIPT, List.of(RANGES_KEY_PREFIX + size, SIZES_KEY),
+                String.valueOf(afterId), String.valueOf(upperBound), String.valueOf(ttl.toMillis()),
+                String.valueOf(size));
+        List<Long> afterIds = new ArrayList<>();
+        if (displaced != null) {
+            displaced.forEach(id -> afterIds.add(Long.valueOf(id)));
+        }
+        return afterIds;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PageRef> removeCovering(Collection<Long> itemIds) {
+        List<String> args = new ArrayList<>(itemIds.size() + 1);
+        args.add(RANGES_KEY_PREFIX);
+        itemIds.forEach(itemId -> args.add(String.valueOf(itemId)));
+
+        List<String> removed = redisTemplate.execute(REMOVE_COVERING_SCRIPT, List.of(SIZES_KEY), args.toArray());
+        List<PageRef> pages = new ArrayList<>();
+        if (removed != null) {
+            for (int i = 0; i + 1 < removed.size(); i += 2) {
+                pages.add(new PageRef(Integer.parseInt(removed.get(i)), Long.parseLong(removed.get(i + 1))));
+            }
+        }
+        return pages;
+    }
+
+    @Override
+    public void clear() {
+        Set<String> sizes = redisTemplate.opsForSet().members(SIZES_KEY);
+        List<String> keys = new ArrayList<>();
+        keys.add(SIZES_KEY);
+        if (sizes != null) {
+            sizes.forEach(size -> keys.add(RANGES_KEY_PREFIX + size));
+        }
+        redisTemplate.delete(keys);
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.entity.Reservation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires reservations from an in-memory {@link ExpiryTimingWheel} instead of
+ * periodically scanning the reservations table. Enabled with
+ * {@code inventory.expiry.timing-wheel.enabled=true}; the database is only
+ * scanned once at startup to catch up and to load pending reservations.
+ */
+@Slf4j
+@Component
+public class ReservationExpiryScheduler {
+
+    // no lower bound: a reservation that expired after the catch-up sweep is loaded too and fires on the first tick
+    private static final String PENDING_SQL = "SELECT id, expires_at FROM reservations WHERE status = 'ACTIVE'";
+
+    @Autowired
+    private ReservationExpiryService reservationExpiryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.expiry.timing-wheel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.expiry.timing-wheel.tick-ms:1000}")
+    private long tickMs = 1000;
+
+    @Value("${inventory.expiry.timing-wheel.wheel-size:512}")
+    private int wheelSize = 512;
+
+    @Value("${inventory.expiry.batch-size:500}")
+    private int batchSize = 500;
+
+    private volatile ExpiryTimingWheel wheel;
+    private ScheduledExecutorService ticker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        wheel = new ExpiryTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+
+        int caughtUp = 0;
+        int expired;
+        while ((expired = reservationExpiryService.sweep()) > 0) {
+            caughtUp += expired;
+        }
+
+        jdbcTemplate.query(PENDING_SQL, rs -> {
+            wheel.schedule(rs.getLong("id"), toEpochMillis(rs.getTimestamp("expires_at").toLocalDateTime()));
+        });
+        log.info("Reservation expiry wheel started: caught up {} expired, {} pending", caughtUp, wheel.size());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void register(Reservation reservation) {
+        if (!enabled) {
+            return;
+        }
+        Long id = reservation.getId();
+        long deadline = toEpochMillis(reservation.getExpiresAt());
+        afterCommit(() -> {
+            ExpiryTimingWheel current = wheel;
+            if (current != null) {
+                current.schedule(id, deadline);
+            }
+        });
+    }
+
+    public void cancel(Long reservationId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            ExpiryTimingWheel current = wheel;
+            if (current != null) {
+                current.cancel(reservationId);
+            }
+        });
+    }
+
+    private void tick() {
+        try {
+            List<Long> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+                try {
+                    reservationExpiryService.expireDue(batch);
+                } catch (RuntimeException e) {
+                    log.error("Failed to expire {} reservations, retrying next tick: {}", batch.size(), e.getMessage());
+                    long retryAt = System.currentTimeMillis() + tickMs;
+                    batch.forEach(id -> wheel.schedule(id, retryAt));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Reservation expiry tick failed", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        // round up so a reservation is never fired before its expiresAt
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().plusNanos(999_999).toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,196 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.entity.Reservation;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.outbox.InventoryChangeType;
+import com.ecommerce.springboot.outbox.OutboxWriter;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves ACTIVE reservations past their {@code expiresAt} to EXPIRED and gives
+ * their stock back. Expired rows are walked in keyset pages so a large backlog
+ * is never loaded at once; each page is one transaction with one batched status
+ * update and one aggregated stock update per item.
+ */
+@Slf4j
+@Service
+public class ReservationExpiryService {
+
+    private static final String EXPIRE_SQL =
+            "UPDATE reservations SET status = 'EXPIRED', version = version + 1 WHERE id = ? AND status = 'ACTIVE'";
+
+    private static final String RELEASE_SQL =
+            "UPDATE inventory_items SET available_quantity = available_quantity + ?, " +
+            "reserved_quantity = reserved_quantity - ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private static final String OLDEST_EXPIRED_SQL =
+            "SELECT MIN(expires_at) FROM reservations WHERE status = 'ACTIVE' AND expires_at < ?";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Value("${inventory.expiry.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${inventory.expiry.timing-wheel.enabled:false}")
+    private boolean timingWheelEnabled;
+
+    @Value("${inventory.expiry.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${inventory.expiry.max-per-run:50000}")
+    private int maxPerRun = 50000;
+
+    @Scheduled(fixedDelayString = "${inventory.expiry.interval-ms:30000}",
+            initialDelayString = "${inventory.expiry.interval-ms:30000}")
+    public void expireReservations() {
+        if (enabled && !timingWheelEnabled) {
+            sweep();
+        }
+    }
+
+    public int sweep() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        int expired = 0;
+        long releasedUnits = 0;
+
+        while (expired < maxPerRun) {
+            int limit = Math.min(batchSize, maxPerRun - expired);
+            List<Reservation> page = reservationRepository.findExpiredReservations(
+                    ReservationStatus.ACTIVE, now, afterId, PageRequest.of(0, limit));
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+
+            ExpiryResult result = expire(page);
+            expired += result.expired();
+            releasedUnits += result.releasedUnits();
+
+            if (page.size() < limit) {
+                break;
+            }
+        }
+
+        Duration lag = currentLag(now);
+        inventoryMetrics.recordExpiryRun(expired, releasedUnits, lag, System.nanoTime() - started);
+        if (expired > 0) {
+            log.info("Expired {} reservations, released {} units, remaining lag {}s",
+                    expired, releasedUnits, lag.getSeconds());
+        }
+        return expired;
+    }
+
+    public ExpiryResult expireDue(Collection<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> due = reservationRepository.findAllById(reservationIds).stream()
+                .filter(reservation -> reservation.getStatus() == ReservationStatus.ACTIVE)
+                .filter(reservation -> !reservation.getExpiresAt().isAfter(now))
+                .collect(Collectors.toList());
+        if (due.isEmpty()) {
+            return new ExpiryResult(0, Map.of());
+        }
+
+        long started = System.nanoTime();
+        ExpiryResult result = expire(due);
+        inventoryMetrics.recordExpiryRun(result.expired(), result.releasedUnits(), Duration.ZERO,
+                System.nanoTime() - started);
+        return result;
+    }
+
+    /**
+     * Expires the given reservations in one transaction. Rows that are no longer
+     * ACTIVE (cancelled or expired concurrently) are skipped by the guarded update.
+     */
+    public ExpiryResult expire(List<Reservation> reservations) {
+        return transactionTemplate.execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(EXPIRE_SQL, reservations, reservations.size(),
+                    (ps, reservation) -> ps.setLong(1, reservation.getId()));
+
+            Map<Long, Integer> releasedByItem = new HashMap<>();
+            List<Reservation> expired = new ArrayList<>();
+            int index = 0;
+            for (int[] chunk : counts) {
+                for (int count : chunk) {
+                    Reservation reservation = reservations.get(index++);
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        expired.add(reservation);
+                        releasedByItem.merge(reservation.getItemId(), reservation.getQuantity(), Integer::sum);
+                    }
+                }
+            }
+
+            releaseStock(releasedByItem);
+            outboxWriter.reservationsChanged(InventoryChangeType.EXPIRED, expired);
+            inventoryCacheInvalidator.itemsChanged(releasedByItem.keySet());
+            return new ExpiryResult(expired.size(), releasedByItem);
+        });
+    }
+
+    private void releaseStock(Map<Long, Integer> releasedByItem) {
+        if (stockLedger.isEnabled()) {
+            releasedByItem.forEach(stockLedger::releaseAfterCommit);
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(releasedByItem.size());
+        releasedByItem.forEach((itemId, quantity) -> args.add(new Object[]{quantity, quantity, now, itemId}));
+        jdbcTemplate.batchUpdate(RELEASE_SQL, args);
+    }
+
+    private Duration currentLag(LocalDateTime now) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_EXPIRED_SQL, Timestamp.class, Timestamp.valueOf(now));
+        if (oldest == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldest.toLocalDateTime(), LocalDateTime.now());
+    }
+
+    public record ExpiryResult(int expired, Map<Long, Integer> releasedByItem) {
+
+        public long releasedUnits() {
+            return releasedByItem.values().stream().mapToLong(Integer::longValue).sum();
+        }
+    }
+}
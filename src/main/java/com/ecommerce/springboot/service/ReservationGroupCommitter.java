@@ -0,0 +1,150 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.dto.ReservationResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single reservations, used when
+ * {@code inventory.reservation.group-commit.enabled=true}. Requests for the
+ * same item that arrive within {@code window-ms} of the first one, or until
+ * {@code max-batch} have queued, are reserved together by
+ * {@link ReservationService#createReservationGroup}, so a popular item takes
+ * one row lock and one commit per group instead of one per request.
+ */
+@Slf4j
+@Component
+public class ReservationGroupCommitter {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Value("${inventory.reservation.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.reservation.group-commit.window-ms:2}")
+    private long windowMs = 2;
+
+    @Value("${inventory.reservation.group-commit.max-batch:64}")
+    private int maxBatch = 64;
+
+    @Value("${inventory.reservation.group-commit.threads:8}")
+    private int threads = 8;
+
+    private final ConcurrentHashMap<Long, Group> open = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService timer;
+    private ExecutorService committers;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "reservation-group-timer"));
+        committers = Executors.newFixedThreadPool(threads);
+        log.info("Reservation group commit enabled: window {} ms, max batch {}", windowMs, maxBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        timer.shutdownNow();
+        for (Long itemId : new ArrayList<>(open.keySet())) {
+            Group group = open.remove(itemId);
+            if (group != null) {
+                commit(group);
+            }
+        }
+        committers.shutdown();
+        try {
+            committers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<ReservationResponse> submit(ReservationRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        Group[] full = new Group[1];
+
+        // groups are only mutated inside compute, so a group is never joined after it was taken
+        open.compute(request.getItemId(), (itemId, group) -> {
+            if (group == null) {
+                Group created = new Group(itemId);
+                timer.schedule(() -> close(created), windowMs, TimeUnit.MILLISECONDS);
+                group = created;
+            }
+            group.pending.add(pending);
+            if (group.pending.size() >= maxBatch) {
+                full[0] = group;
+                return null;
+            }
+            return group;
+        });
+
+        if (full[0] != null) {
+            committers.execute(() -> commit(full[0]));
+        }
+        return pending.future;
+    }
+
+    private void close(Group group) {
+        if (open.remove(group.itemId, group)) {
+            committers.execute(() -> commit(group));
+        }
+    }
+
+    private void commit(Group group) {
+        List<ReservationRequest> requests = group.pending.stream().map(Pending::request).toList();
+        try {
+            List<ReservationService.GroupOutcome> outcomes =
+                    reservationService.createReservationGroup(group.itemId, requests);
+            for (int i = 0; i < outcomes.size(); i++) {
+                ReservationService.GroupOutcome outcome = outcomes.get(i);
+                CompletableFuture<ReservationResponse> future = group.pending.get(i).future();
+                if (outcome.failure() != null) {
+                    future.completeExceptionally(outcome.failure());
+                } else {
+                    future.complete(outcome.response());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Group of {} reservations for item ID: {} failed: {}",
+                    requests.size(), group.itemId, e.getMessage());
+            group.pending.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private static final class Group {
+        private final Long itemId;
+        private final List<Pending> pending = new ArrayList<>();
+
+        private Group(Long itemId) {
+            this.itemId = itemId;
+        }
+    }
+
+    private record Pending(ReservationRequest request, CompletableFuture<ReservationResponse> future) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.springboot.service;
+
+public enum ReservationMode {
+    LOCKING,
+    ATOMIC,
+    LEDGER,
+    OPTIMISTIC
+}
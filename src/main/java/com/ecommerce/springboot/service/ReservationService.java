@@ -1,24 +1,42 @@
 package com.ecommerce.springboot.service;
 
+import com.ecommerce.springboot.dto.BatchReservationRequest;
+import com.ecommerce.springboot.dto.BatchReservationResponse;
 import com.ecommerce.springboot.dto.ReservationRequest;
 import com.ecommerce.springboot.dto.ReservationResponse;
 import com.ecommerce.springboot.entity.InventoryItem;
 import com.ecommerce.springboot.entity.Reservation;
 import com.ecommerce.springboot.entity.ReservationStatus;
 import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.InventoryException;
 import com.ecommerce.springboot.exception.ItemNotFoundException;
 import com.ecommerce.springboot.exception.ReservationNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import com.ecommerce.springboot.outbox.InventoryChangeType;
+import com.ecommerce.springboot.outbox.OutboxWriter;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ItemStockVersion;
 import com.ecommerce.springboot.repository.ReservationRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,34 +50,59 @@ public class ReservationService {
     @Autowired
     private InventoryRepository inventoryRepository;
 
-    @Transactional
-    @CacheEvict(value = "inventory", key = "#request.itemId")
-    public ReservationResponse createReservation(ReservationRequest request) {
-        log.info("Creating reservation for item ID: {}, customer: {}, quantity: {}",
-                request.getItemId(), request.getCustomerId(), request.getQuantity());
+    @Autowired
+    private StockLedger stockLedger;
 
+    @Autowired
+    private ReservationExpiryScheduler reservationExpiryScheduler;
 
-        InventoryItem item = inventoryRepository.findByIdWithLock(request.getItemId())
-                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + request.getItemId() + " not found"));
+    @Autowired
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
 
+    @Autowired
+    private HotStockBuckets hotStockBuckets;
 
-        if (!item.getActive()) {
-            throw new ItemNotFoundException("Item with ID " + request.getItemId() + " is not active");
-        }
+    @Autowired
+    private InventoryMetrics inventoryMetrics;
 
+    @Autowired
+    private LockContentionTracker lockContentionTracker;
 
-        if (item.getAvailableQuantity() < request.getQuantity()) {
-            throw new InsufficientStockException(
-                    String.format("Insufficient stock. Available: %d, Requested: %d",
-                            item.getAvailableQuantity(), request.getQuantity())
-            );
-        }
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
+    @Value("${inventory.reservation.mode:LOCKING}")
+    private ReservationMode reservationMode = ReservationMode.LOCKING;
 
-        item.setAvailableQuantity(item.getAvailableQuantity() - request.getQuantity());
-        item.setReservedQuantity(item.getReservedQuantity() + request.getQuantity());
-        inventoryRepository.save(item);
+    @Value("${inventory.reservation.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts = 5;
 
+    @Value("${inventory.reservation.optimistic.backoff-initial-ms:2}")
+    private long optimisticBackoffInitialMs = 2;
+
+    @Value("${inventory.reservation.optimistic.backoff-max-ms:50}")
+    private long optimisticBackoffMaxMs = 50;
+
+    // each attempt runs in a transaction of its own, see inAttempts
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public ReservationResponse createReservation(ReservationRequest request) {
+        return inAttempts(() -> reserve(request));
+    }
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public BatchReservationResponse createReservations(BatchReservationRequest request) {
+        return inAttempts(() -> reserveBatch(request));
+    }
+
+    private ReservationResponse reserve(ReservationRequest request) {
+        log.info("Creating reservation for item ID: {}, customer: {}, quantity: {}",
+                request.getItemId(), request.getCustomerId(), request.getQuantity());
+        inventoryMetrics.beginOperation("reserve");
+
+        reserveStock(request.getItemId(), request.getQuantity(), request.getCustomerId());
 
         Reservation reservation = new Reservation(
                 request.getItemId(),
@@ -68,15 +111,132 @@ public class ReservationService {
         );
 
         Reservation savedReservation = reservationRepository.save(reservation);
+        reservationExpiryScheduler.register(savedReservation);
+        outboxWriter.reservationsChanged(InventoryChangeType.RESERVED, List.of(savedReservation));
+        inventoryCacheInvalidator.itemChanged(request.getItemId());
         log.info("Successfully created reservation ID: {}", savedReservation.getId());
 
         return mapToResponse(savedReservation);
     }
 
+    private BatchReservationResponse reserveBatch(BatchReservationRequest request) {
+        log.info("Creating batch reservation of {} lines for customer: {}",
+                request.getItems().size(), request.getCustomerId());
+        inventoryMetrics.beginOperation("reserve_batch");
+
+        // one take per item in ascending id order: a second take from the same hot item could wait
+        // for its rebalance while holding the bucket that rebalance is waiting for
+        Map<Long, Integer> lockOrder = new TreeMap<>();
+        request.getItems().forEach(line -> lockOrder.merge(line.getItemId(), line.getQuantity(), Integer::sum));
+
+        lockOrder.forEach((itemId, quantity) -> {
+            try {
+                reserveStock(itemId, quantity, request.getCustomerId());
+            } catch (InsufficientStockException e) {
+                throw new InsufficientStockException("Item with ID " + itemId + ": " + e.getMessage());
+            }
+        });
+
+        List<Reservation> reservations = request.getItems().stream()
+                .map(line -> new Reservation(line.getItemId(), request.getCustomerId(), line.getQuantity()))
+                .collect(Collectors.toList());
+        List<Reservation> savedReservations = reservationRepository.saveAll(reservations);
+        savedReservations.forEach(reservationExpiryScheduler::register);
+        outboxWriter.reservationsChanged(InventoryChangeType.RESERVED, savedReservations);
+
+        inventoryCacheInvalidator.itemsChanged(lockOrder.keySet());
+
+        log.info("Successfully created {} reservations for customer: {}",
+                savedReservations.size(), request.getCustomerId());
+        return new BatchReservationResponse(savedReservations.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Reserves a group of requests for one item in a single transaction: the
+     * item row is locked and updated once for the accepted quantity and the
+     * reservations are inserted in one batch. Requests are accepted in order
+     * while stock lasts; each one gets either its reservation or its own
+     * failure back, at the same index.
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<GroupOutcome> createReservationGroup(Long itemId, List<ReservationRequest> requests) {
+        return inAttempts(() -> reserveGroup(itemId, requests));
+    }
+
+    private List<GroupOutcome> reserveGroup(Long itemId, List<ReservationRequest> requests) {
+        log.debug("Creating {} grouped reservations for item ID: {}", requests.size(), itemId);
+        inventoryMetrics.beginOperation("reserve_group");
+
+        List<GroupOutcome> outcomes = new ArrayList<>(requests.size());
+        List<Reservation> accepted = new ArrayList<>();
+
+        // several takes from a hot item's buckets lock the item row first, like its rebalance does,
+        // so one of them can never hold a bucket that a rebalance holding the item row waits for
+        InventoryItem item = null;
+        boolean lockFirst = hotStockBuckets.buckets(itemId) == 0 || requests.size() > 1;
+        if (reservationMode != ReservationMode.LEDGER && lockFirst) {
+            item = lockItem(itemId).orElse(null);
+        }
+
+        if (item != null && item.getActive() && item.getStockBuckets() == 0) {
+            int available = item.getAvailableQuantity();
+            int taken = 0;
+            for (ReservationRequest request : requests) {
+                if (request.getQuantity() <= available - taken) {
+                    taken += request.getQuantity();
+                    accepted.add(new Reservation(itemId, request.getCustomerId(), request.getQuantity()));
+                    outcomes.add(null);
+                } else {
+                    inventoryMetrics.insufficientStock(itemId);
+                    outcomes.add(new GroupOutcome(null, new InsufficientStockException(
+                            String.format("Insufficient stock. Available: %d, Requested: %d",
+                                    available - taken, request.getQuantity()))));
+                }
+            }
+            if (taken > 0) {
+                item.setAvailableQuantity(available - taken);
+                item.setReservedQuantity(item.getReservedQuantity() + taken);
+                inventoryRepository.save(item);
+            }
+        } else {
+            // ledger, hot or missing/inactive items: reserve one by one, failures stay per request
+            for (ReservationRequest request : requests) {
+                try {
+                    reserveStock(itemId, request.getQuantity(), request.getCustomerId());
+                    accepted.add(new Reservation(itemId, request.getCustomerId(), request.getQuantity()));
+                    outcomes.add(null);
+                } catch (InventoryException e) {
+                    outcomes.add(new GroupOutcome(null, e));
+                }
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return outcomes;
+        }
+
+        List<Reservation> savedReservations = reservationRepository.saveAll(accepted);
+        savedReservations.forEach(reservationExpiryScheduler::register);
+        outboxWriter.reservationsChanged(InventoryChangeType.RESERVED, savedReservations);
+        inventoryCacheInvalidator.itemChanged(itemId);
+
+        Iterator<Reservation> saved = savedReservations.iterator();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) == null) {
+                outcomes.set(i, new GroupOutcome(mapToResponse(saved.next()), null));
+            }
+        }
+        log.debug("Created {} of {} grouped reservations for item ID: {}",
+                savedReservations.size(), requests.size(), itemId);
+        return outcomes;
+    }
+
     @Transactional
-    @CacheEvict(value = "inventory", key = "#reservation.itemId")
     public ReservationResponse cancelReservation(Long reservationId, String customerId) {
         log.info("Cancelling reservation ID: {} for customer: {}", reservationId, customerId);
+        inventoryMetrics.beginOperation("cancel");
 
         Reservation reservation = reservationRepository.findByIdAndCustomerId(reservationId, customerId)
                 .orElseThrow(() -> new ReservationNotFoundException(
@@ -88,17 +248,13 @@ public class ReservationService {
         }
 
 
-        InventoryItem item = inventoryRepository.findByIdWithLock(reservation.getItemId())
-                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + reservation.getItemId() + " not found"));
-
-
-        item.setAvailableQuantity(item.getAvailableQuantity() + reservation.getQuantity());
-        item.setReservedQuantity(item.getReservedQuantity() - reservation.getQuantity());
-        inventoryRepository.save(item);
-
+        releaseStock(reservation.getItemId(), reservation.getQuantity(), customerId);
 
         reservation.setStatus(ReservationStatus.CANCELLED);
         Reservation savedReservation = reservationRepository.save(reservation);
+        reservationExpiryScheduler.cancel(reservationId);
+        outboxWriter.reservationsChanged(InventoryChangeType.CANCELLED, List.of(savedReservation));
+        inventoryCacheInvalidator.itemChanged(reservation.getItemId());
 
         log.info("Successfully cancelled reservation ID: {}", reservationId);
         return mapToResponse(savedReservation);
@@ -114,6 +270,191 @@ public class ReservationService {
         return mapToResponse(reservation);
     }
 
+    private void reserveStock(Long itemId, Integer quantity, String customerId) {
+        try {
+            takeStock(itemId, quantity, customerId);
+        } catch (InsufficientStockException e) {
+            inventoryMetrics.insufficientStock(itemId);
+            throw e;
+        }
+    }
+
+    private void takeStock(Long itemId, Integer quantity, String customerId) {
+        if (reservationMode == ReservationMode.LEDGER) {
+            stockLedger.reserve(itemId, quantity);
+            return;
+        }
+
+        if (hotStockBuckets.reserve(itemId, quantity, customerId)) {
+            return;
+        }
+
+        if (reservationMode == ReservationMode.OPTIMISTIC) {
+            reserveAtVersion(itemId, quantity, customerId);
+            return;
+        }
+
+        if (reservationMode == ReservationMode.ATOMIC) {
+            if (inventoryRepository.reserveQuantity(itemId, quantity) == 0) {
+                InventoryItem item = inventoryRepository.findById(itemId)
+                        .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
+                // the item switched to hot stock mode after this node last refreshed
+                if (hotStockBuckets.reserve(itemId, quantity, customerId, item.getStockBuckets())) {
+                    return;
+                }
+                throw reserveFailure(item, quantity);
+            }
+            return;
+        }
+
+        InventoryItem item = lockItem(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
+
+        if (!item.getActive()) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " is not active");
+        }
+
+        if (hotStockBuckets.reserve(itemId, quantity, customerId, item.getStockBuckets())) {
+            return;
+        }
+
+        if (item.getAvailableQuantity() < quantity) {
+            throw new InsufficientStockException(
+                    String.format("Insufficient stock. Available: %d, Requested: %d",
+                            item.getAvailableQuantity(), quantity)
+            );
+        }
+
+        item.setAvailableQuantity(item.getAvailableQuantity() - quantity);
+        item.setReservedQuantity(item.getReservedQuantity() + quantity);
+        inventoryRepository.save(item);
+    }
+
+    private void releaseStock(Long itemId, Integer quantity, String customerId) {
+        if (reservationMode == ReservationMode.LEDGER) {
+            stockLedger.releaseAfterCommit(itemId, quantity);
+            return;
+        }
+
+        if (hotStockBuckets.release(itemId, quantity, customerId)) {
+            return;
+        }
+
+        if (reservationMode == ReservationMode.ATOMIC || reservationMode == ReservationMode.OPTIMISTIC) {
+            if (inventoryRepository.releaseQuantity(itemId, quantity) == 0) {
+                if (!inventoryRepository.existsById(itemId)) {
+                    throw new ItemNotFoundException("Item with ID " + itemId + " not found");
+                }
+                throw new InventoryException("Reserved quantity of item with ID " + itemId
+                        + " is lower than the quantity being released");
+            }
+            return;
+        }
+
+        InventoryItem item = lockItem(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
+
+        item.setAvailableQuantity(item.getAvailableQuantity() + quantity);
+        item.setReservedQuantity(item.getReservedQuantity() - quantity);
+        inventoryRepository.save(item);
+    }
+
+    /**
+     * Runs a reservation in a transaction of its own. In OPTIMISTIC mode a
+     * version conflict rolls the attempt back, and the next attempt starts a
+     * fresh transaction after a jittered exponential backoff, so the sleep
+     * holds no connection. After {@code inventory.reservation.optimistic.max-attempts}
+     * attempts in all the reservation fails with a 409. Inside a caller's
+     * transaction the attempt joins it and there is nothing to retry in, so
+     * the first conflict fails.
+     */
+    private <T> T inAttempts(Supplier<T> reservation) {
+        if (reservationMode != ReservationMode.OPTIMISTIC) {
+            return transactionTemplate.execute(status -> reservation.get());
+        }
+
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : optimisticMaxAttempts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> reservation.get());
+                inventoryMetrics.recordOptimisticReservation(attempt, true);
+                return result;
+            } catch (VersionConflict conflict) {
+                if (attempt >= maxAttempts || !backOff(attempt)) {
+                    inventoryMetrics.recordOptimisticReservation(attempt, false);
+                    log.warn("Giving up on reservation of item ID: {} after {} conflicting updates",
+                            conflict.itemId, attempt);
+                    throw new OptimisticLockingFailureException(
+                            "Item with ID " + conflict.itemId + " is being changed concurrently, please retry");
+                }
+            }
+        }
+    }
+
+    /**
+     * Optimistic reservation: reads the item without locking it and updates
+     * it only if its version is still the one that was read; otherwise the
+     * attempt fails with a {@link VersionConflict} for {@link #inAttempts} to retry.
+     */
+    private void reserveAtVersion(Long itemId, Integer quantity, String customerId) {
+        ItemStockVersion item = inventoryRepository.findStockVersion(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item with ID " + itemId + " not found"));
+
+        if (!item.active()) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " is not active");
+        }
+
+        if (hotStockBuckets.reserve(itemId, quantity, customerId, item.stockBuckets())) {
+            return;
+        }
+
+        if (item.availableQuantity() < quantity) {
+            throw new InsufficientStockException(
+                    String.format("Insufficient stock. Available: %d, Requested: %d",
+                            item.availableQuantity(), quantity)
+            );
+        }
+
+        if (inventoryRepository.reserveQuantityAtVersion(itemId, quantity, item.version()) == 0) {
+            throw new VersionConflict(itemId);
+        }
+    }
+
+    // full jitter: a random sleep up to the capped exponential delay, so conflicting callers spread out
+    private boolean backOff(int attempt) {
+        long ceiling = Math.min(optimisticBackoffMaxMs, optimisticBackoffInitialMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Optional<InventoryItem> lockItem(Long itemId) {
+        int queued = lockContentionTracker.waiting(itemId);
+        long started = System.nanoTime();
+        try {
+            return inventoryRepository.findByIdWithLock(itemId);
+        } finally {
+            long waited = System.nanoTime() - started;
+            lockContentionTracker.acquired(itemId, waited, queued);
+            inventoryMetrics.recordLockWait(waited);
+        }
+    }
+
+    private InventoryException reserveFailure(InventoryItem item, Integer quantity) {
+        if (!item.getActive()) {
+            return new ItemNotFoundException("Item with ID " + item.getId() + " is not active");
+        }
+
+        return new InsufficientStockException(
+                String.format("Insufficient stock. Available: %d, Requested: %d",
+                        item.getAvailableQuantity(), quantity)
+        );
+    }
+
     private ReservationResponse mapToResponse(Reservation reservation) {
         return new ReservationResponse(
                 reservation.getId(),
@@ -125,5 +466,17 @@ public class ReservationService {
                 reservation.getExpiresAt()
         );
     }
-}
 
+    // rolls back the attempt it is thrown from; never leaves inAttempts, so it carries no stack trace
+    private static final class VersionConflict extends RuntimeException {
+        private final Long itemId;
+
+        private VersionConflict(Long itemId) {
+            super(null, null, false, false);
+            this.itemId = itemId;
+        }
+    }
+
+    public record GroupOutcome(ReservationResponse response, InventoryException failure) {
+    }
+}
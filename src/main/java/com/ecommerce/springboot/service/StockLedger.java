@@ -0,0 +1,272 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process available/reserved counters per item, used when
+ * {@code inventory.reservation.mode=LEDGER}. Reservations are decided with a
+ * compare-and-set on the item's counters instead of a row lock, and the
+ * resulting quantities are written back to {@code inventory_items} in batches.
+ * On startup the counters are rebuilt from the table plus ACTIVE reservations.
+ */
+@Slf4j
+@Component
+public class StockLedger {
+
+    private static final String LOAD_SQL =
+            "SELECT i.id, i.total_quantity, i.active, " +
+            "(SELECT COALESCE(SUM(r.quantity), 0) FROM reservations r " +
+            "WHERE r.item_id = i.id AND r.status = 'ACTIVE') AS reserved " +
+            "FROM inventory_items i";
+
+    private static final String FLUSH_SQL =
+            "UPDATE inventory_items SET available_quantity = ?, reserved_quantity = ?, version = version + 1, " +
+            "updated_at = ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Value("${inventory.reservation.mode:LOCKING}")
+    private ReservationMode reservationMode = ReservationMode.LOCKING;
+
+    @Value("${inventory.ledger.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    public boolean isEnabled() {
+        return reservationMode == ReservationMode.LEDGER;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("Rebuilding stock ledger from inventory_items and active reservations");
+        entries.clear();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            int total = rs.getInt("total_quantity");
+            int reserved = rs.getInt("reserved");
+            load(rs.getLong("id"), total - reserved, reserved, rs.getBoolean("active"));
+        });
+        log.info("Stock ledger loaded {} items", entries.size());
+    }
+
+    public void load(Long itemId, int available, int reserved, boolean active) {
+        entries.put(itemId, new Entry(available, reserved, active));
+    }
+
+    public void evict(Long itemId) {
+        entries.remove(itemId);
+    }
+
+    public Level level(Long itemId) {
+        Entry entry = entries.get(itemId);
+        if (entry == null) {
+            return null;
+        }
+        long state = entry.state.get();
+        return new Level(available(state), reserved(state), entry.active);
+    }
+
+    public void reserve(Long itemId, int quantity) {
+        Entry entry = entry(itemId);
+        if (!entry.active) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " is not active");
+        }
+
+        while (true) {
+            long current = entry.state.get();
+            int available = available(current);
+            if (available < quantity) {
+                throw new InsufficientStockException(
+                        String.format("Insufficient stock. Available: %d, Requested: %d", available, quantity));
+            }
+            if (entry.state.compareAndSet(current, pack(available - quantity, reserved(current) + quantity))) {
+                break;
+            }
+        }
+        dirty.add(itemId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(itemId, quantity);
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(Long itemId, int quantity) {
+        Entry entry = entries.get(itemId);
+        if (entry == null) {
+            // not loaded yet; the next load recomputes from active reservations
+            return;
+        }
+        entry.state.getAndUpdate(s -> pack(available(s) + quantity, reserved(s) - quantity));
+        dirty.add(itemId);
+    }
+
+    public void addSupply(Long itemId, int quantity) {
+        Entry entry = entries.get(itemId);
+        if (entry == null) {
+            return;
+        }
+        entry.state.getAndUpdate(s -> pack(available(s) + quantity, reserved(s)));
+        dirty.add(itemId);
+    }
+
+    public void deactivate(Long itemId) {
+        Entry entry = entries.get(itemId);
+        if (entry != null) {
+            entry.active = false;
+        }
+    }
+
+    public void releaseAfterCommit(Long itemId, int quantity) {
+        afterCommit(() -> release(itemId, quantity));
+    }
+
+    public void addSupplyAfterCommit(Long itemId, int quantity) {
+        afterCommit(() -> addSupply(itemId, quantity));
+    }
+
+    public void deactivateAfterCommit(Long itemId) {
+        afterCommit(() -> deactivate(itemId));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:100}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(flushBatchSize);
+        Iterator<Long> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            Long itemId = iterator.next();
+            iterator.remove();
+            Entry entry = entries.get(itemId);
+            if (entry == null) {
+                continue;
+            }
+            long state = entry.state.get();
+            batch.add(new Object[]{available(state), reserved(state), now, itemId});
+            if (batch.size() >= flushBatchSize) {
+                write(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (isEnabled()) {
+            flush();
+        }
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed {} ledger entries to inventory_items", batch.size());
+            inventoryCacheInvalidator.itemsChanged(batch.stream().map(row -> (Long) row[3]).toList());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush {} ledger entries, will retry: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                dirty.add((Long) row[3]);
+            }
+        }
+    }
+
+    private Entry entry(Long itemId) {
+        Entry entry = entries.get(itemId);
+        if (entry != null) {
+            return entry;
+        }
+        return entries.computeIfAbsent(itemId, this::loadEntry);
+    }
+
+    private Entry loadEntry(Long itemId) {
+        List<Entry> loaded = jdbcTemplate.query(LOAD_SQL + " WHERE i.id = ?", (rs, rowNum) -> {
+            int total = rs.getInt("total_quantity");
+            int reserved = rs.getInt("reserved");
+            return new Entry(total - reserved, reserved, rs.getBoolean("active"));
+        }, itemId);
+        if (loaded.isEmpty()) {
+            throw new ItemNotFoundException("Item with ID " + itemId + " not found");
+        }
+        return loaded.get(0);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    public record Level(int available, int reserved, boolean active) {
+    }
+
+    private static final class Entry {
+        private final AtomicLong state;
+        private volatile boolean active;
+
+        private Entry(int available, int reserved, boolean active) {
+            this.state = new AtomicLong(pack(available, reserved));
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.ecommerce.springboot.service;
+
+import com.ecommerce.springboot.dto.StockLevelUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the available quantity of subscribed items to Server-Sent Events
+ * clients. A commit only marks its items as changed, on this node or, with
+ * {@code inventory.changes.broadcast.enabled}, on any node through
+ * {@link ItemChangeBroadcaster}; every
+ * {@code inventory.stock-stream.min-interval-ms} the changed items that have
+ * subscribers are read in one query and each subscriber gets at most one
+ * update per item. Sends run on {@code send-threads} threads, one drain per
+ * subscriber at a time, and updates queued for a slow client are coalesced
+ * to the latest level per item. Idle subscribers hold no thread.
+ */
+@Slf4j
+@Component
+public class StockLevelStream {
+
+    private static final int LOAD_CHUNK = 500;
+
+    @Autowired
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.stock-stream.max-subscribers:50000}")
+    private int maxSubscribers = 50000;
+
+    @Value("${inventory.stock-stream.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${inventory.stock-stream.send-threads:4}")
+    private int sendThreads = 4;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByItem = new ConcurrentHashMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger senderThreadCount = new AtomicInteger();
+
+    private ExecutorService senders;
+    private Counter updatesSent;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        senders = Executors.newFixedThreadPool(sendThreads, runnable ->
+                new Thread(runnable, "stock-stream-" + senderThreadCount.incrementAndGet()));
+        updatesSent = Counter.builder("inventory.stream.updates")
+                .description("Stock level updates sent to stream subscribers")
+                .register(meterRegistry);
+        rejected = Counter.builder("inventory.stream.rejected")
+                .description("Stream subscriptions refused because max-subscribers was reached")
+                .register(meterRegistry);
+        Gauge.builder("inventory.stream.subscribers", subscribers, Set::size)
+                .description("Open stock level stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeStreams();
+        senders.shutdownNow();
+    }
+
+    // streams never end by themselves, so they are closed before a graceful shutdown waits for open requests
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        new ArrayList<>(subscribers).forEach(subscriber -> {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    /**
+     * Opens a stream for the given items, starting with their current levels.
+     * Returns null when the node already holds {@code max-subscribers} streams.
+     */
+    public SseEmitter subscribe(Collection<Long> itemIds) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejected.increment();
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(itemIds));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        for (Long itemId : subscriber.itemIds) {
+            subscribersByItem.compute(itemId, (id, itemSubscribers) -> {
+                Set<Subscriber> updated = itemSubscribers != null ? itemSubscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+
+        // registered first, so a change committed while this runs is sent again on the next tick
+        availabilitySnapshot.currentLevels(subscriber.itemIds).forEach(subscriber::offer);
+        log.debug("Stock stream opened for {} items, {} subscribers", subscriber.itemIds.size(), subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onItemsChanged(InventoryItemsChangedEvent event) {
+        if (event.all()) {
+            changed.addAll(subscribersByItem.keySet());
+            return;
+        }
+        for (Long itemId : event.itemIds()) {
+            if (subscribersByItem.containsKey(itemId)) {
+                changed.add(itemId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock-stream.min-interval-ms:1000}")
+    public void publishChanges() {
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // ids are taken out before the levels are read, so a change marked meanwhile is never lost
+        List<Long> itemIds = new ArrayList<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            itemIds.add(it.next());
+            it.remove();
+        }
+
+        for (int from = 0; from < itemIds.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = itemIds.subList(from, Math.min(from + LOAD_CHUNK, itemIds.size()));
+            for (StockLevelUpdate update : availabilitySnapshot.currentLevels(chunk)) {
+                Set<Subscriber> itemSubscribers = subscribersByItem.get(update.getItemId());
+                if (itemSubscribers != null) {
+                    itemSubscribers.forEach(subscriber -> subscriber.offer(update));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stock-stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        // a comment line per subscriber keeps proxies from closing idle streams and finds dead clients
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        for (Long itemId : subscriber.itemIds) {
+            subscribersByItem.computeIfPresent(itemId, (id, itemSubscribers) -> {
+                itemSubscribers.remove(subscriber);
+                return itemSubscribers.isEmpty() ? null : itemSubscribers;
+            });
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> itemIds;
+        private final ConcurrentHashMap<Long, StockLevelUpdate> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Set<Long> itemIds) {
+            this.emitter = emitter;
+            this.itemIds = itemIds;
+        }
+
+        private void offer(StockLevelUpdate update) {
+            pending.put(update.getItemId(), update);
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed.get() && sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue && pending.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                heartbeatDue = false;
+                for (Long itemId : pending.keySet()) {
+                    StockLevelUpdate update = pending.remove(itemId);
+                    if (update != null) {
+                        emitter.send(SseEmitter.event().name("stock").data(update));
+                        updatesSent.increment();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing stock stream after failed send: {}", e.getMessage());
+                unsubscribe(this);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
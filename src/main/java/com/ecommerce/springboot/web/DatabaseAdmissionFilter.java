@@ -0,0 +1,158 @@
+package com.ecommerce.springboot.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits at most {@code inventory.admission.max-concurrent} API requests at a
+ * time, by default the size of the JDBC pool. With virtual threads Tomcat no
+ * longer caps concurrency, so without this every parked request would be
+ * waiting on the connection pool instead; here they wait on a fair semaphore,
+ * and a request that is not admitted within {@code max-wait-ms} gets a 503.
+ * <p>
+ * An async request (a streamed export, a group-committed reservation, a
+ * reactive read) keeps its permit until the async work completes, since that
+ * is when it uses the database. The stock level stream is the exception: its
+ * permit covers the initial read only and is released when the servlet thread
+ * returns, because the updates it pushes afterwards are read once per tick for
+ * all subscribers, and a stream holding a permit for its whole lifetime would
+ * starve every other request.
+ */
+@Slf4j
+@Component
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    static final String STOCK_STREAM_PATH = "/api/inventory/stream";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.admission.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${inventory.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrent = 10;
+
+    @Value("${inventory.admission.max-wait-ms:30000}")
+    private long maxWaitMs = 30000;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private Semaphore permits;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void registerMeters() {
+        permits = new Semaphore(maxConcurrent, true);
+        waitTimer = Timer.builder("inventory.admission.wait")
+                .description("Time API requests waited for a database admission permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejected = Counter.builder("inventory.admission.rejected")
+                .description("API requests rejected after waiting max-wait-ms for a permit")
+                .register(meterRegistry);
+        Gauge.builder("inventory.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("API requests currently holding an admission permit")
+                .register(meterRegistry);
+        Gauge.builder("inventory.admission.waiting", waiting, AtomicInteger::get)
+                .description("API requests currently waiting for an admission permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean admitted;
+        waiting.incrementAndGet();
+        try {
+            admitted = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        if (!admitted) {
+            rejected.increment();
+            log.warn("Rejected {} {} after waiting {} ms for admission",
+                    request.getMethod(), request.getRequestURI(), maxWaitMs);
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        Runnable release = releaseOnce();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted() && !request.getRequestURI().equals(STOCK_STREAM_PATH)) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release.run();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // an async restart keeps the listener registered until the request finally completes
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                permits.release();
+            }
+        };
+    }
+}
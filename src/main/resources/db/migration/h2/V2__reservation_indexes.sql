@@ -0,0 +1,8 @@
+-- findByCustomerIdAndStatus
+CREATE INDEX idx_reservations_customer_status ON reservations (customer_id, status);
+
+-- findByItemIdAndStatus and SUM(quantity) by item and status, answered from the index alone
+CREATE INDEX idx_reservations_item_status ON reservations (item_id, status, quantity);
+
+-- expiry sweeps: status = 'ACTIVE' AND expires_at < now
+CREATE INDEX idx_reservations_status_expires ON reservations (status, expires_at);
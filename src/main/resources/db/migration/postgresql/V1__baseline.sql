@@ -0,0 +1,40 @@
+CREATE SEQUENCE inventory_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE reservations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE inventory_items (
+    id                 BIGINT        NOT NULL PRIMARY KEY,
+    item_name          VARCHAR(255)  NOT NULL,
+    sku                VARCHAR(255)  NOT NULL,
+    description        TEXT,
+    price              NUMERIC(38, 2) NOT NULL,
+    total_quantity     INTEGER       NOT NULL,
+    available_quantity INTEGER       NOT NULL,
+    reserved_quantity  INTEGER       NOT NULL,
+    active             BOOLEAN       NOT NULL,
+    stock_buckets      INTEGER       DEFAULT 0 NOT NULL,
+    created_at         TIMESTAMP(6)  NOT NULL,
+    updated_at         TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT uk_inventory_items_item_name UNIQUE (item_name),
+    CONSTRAINT uk_inventory_items_sku UNIQUE (sku)
+);
+
+CREATE INDEX idx_inventory_items_stock_buckets ON inventory_items (stock_buckets);
+
+CREATE TABLE inventory_stock_buckets (
+    item_id            BIGINT  NOT NULL,
+    bucket             INTEGER NOT NULL,
+    available_quantity INTEGER NOT NULL,
+    PRIMARY KEY (item_id, bucket)
+);
+
+CREATE TABLE reservations (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    item_id     BIGINT       NOT NULL,
+    customer_id VARCHAR(255) NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    status      VARCHAR(20)  NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    expires_at  TIMESTAMP(6),
+    version     BIGINT,
+    CONSTRAINT ck_reservations_status CHECK (status IN ('ACTIVE', 'CANCELLED', 'EXPIRED', 'FULFILLED'))
+);
@@ -0,0 +1,11 @@
+-- findByCustomerIdAndStatus
+CREATE INDEX idx_reservations_customer_status ON reservations (customer_id, status);
+
+-- findByItemIdAndStatus and SUM(quantity) by item and status, answered from the index alone
+CREATE INDEX idx_reservations_item_status ON reservations (item_id, status) INCLUDE (quantity);
+
+-- ACTIVE rows are a small, hot share of the table and the only ones expiry and the stock ledger read,
+-- so these partial indexes stay small however many cancelled and expired reservations pile up
+CREATE INDEX idx_reservations_active_expires ON reservations (expires_at, id) WHERE status = 'ACTIVE';
+
+CREATE INDEX idx_reservations_active_item ON reservations (item_id) INCLUDE (quantity) WHERE status = 'ACTIVE';
@@ -0,0 +1,2 @@
+-- optimistic concurrency: every update of an item row increments its version
+ALTER TABLE inventory_items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
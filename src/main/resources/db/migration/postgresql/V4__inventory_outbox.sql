@@ -0,0 +1,9 @@
+-- change events written in the same transaction as the stock change, deleted once the relay has published them
+CREATE TABLE inventory_outbox (
+    id             BIGINT       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type     VARCHAR(20)  NOT NULL,
+    item_id        BIGINT       NOT NULL,
+    reservation_id BIGINT,
+    quantity       INTEGER      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,273 @@
+package benchmark;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.StockLedger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load harness for the REST API. Seeds {@code load.items} items on
+ * an embedded H2, then sends a mix of reserve, cancel, availability and supply
+ * calls at a fixed arrival rate for {@code load.duration-s} seconds. Requests
+ * are sent on schedule whether or not earlier ones have finished (open loop),
+ * and latency is measured from the scheduled send time, so a stalled server
+ * shows up in the percentiles instead of lowering the rate.
+ *
+ * <p>Afterwards every item must satisfy {@code total = available + reserved},
+ * and its reserved quantity must equal the sum of its ACTIVE reservations.
+ * Latency distributions are printed and written to {@code target/load/*.hgrm}.
+ *
+ * <p>System properties: {@code load.items} (100), {@code load.stock} (1000),
+ * {@code load.rate} per second (1000), {@code load.duration-s} (20),
+ * {@code load.mix} ("reserve=50,cancel=20,availability=25,supply=5"),
+ * {@code load.hot-share} share of calls sent to the first item (0.2) and
+ * {@code load.mode} reservation mode (LOCKING).
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = SpringbootApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "inventory.expiry.enabled=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000",
+        "spring.datasource.url=jdbc:h2:mem:load-harness;LOCK_TIMEOUT=60000"
+})
+class ApiLoadHarnessTest {
+
+    private static final int ITEMS = Integer.getInteger("load.items", 100);
+    private static final int STOCK = Integer.getInteger("load.stock", 1_000);
+    private static final int RATE = Integer.getInteger("load.rate", 1_000);
+    private static final int DURATION_S = Integer.getInteger("load.duration-s", 20);
+    private static final double HOT_SHARE = Double.parseDouble(System.getProperty("load.hot-share", "0.2"));
+    private static final String MIX = System.getProperty("load.mix", "reserve=50,cancel=20,availability=25,supply=5");
+
+    private enum Operation { RESERVE, CANCEL, AVAILABILITY, SUPPLY }
+
+    private record Placed(long reservationId, String customerId) {
+    }
+
+    @DynamicPropertySource
+    static void reservationMode(DynamicPropertyRegistry registry) {
+        registry.add("inventory.reservation.mode", () -> System.getProperty("load.mode", "LOCKING"));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Placed> placed = new ConcurrentLinkedQueue<>();
+
+    private HttpClient client;
+    private List<Long> itemIds;
+
+    @Test
+    void driveMixedLoadAndCheckInvariants() throws Exception {
+        itemIds = seed();
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3));
+        }
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(16);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(clientExecutor)
+                .build();
+
+        Operation[] schedule = weightedSchedule();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = (long) RATE * DURATION_S;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long started = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = started + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            inFlight.add(send(operation, intended));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        clientExecutor.shutdownNow();
+
+        report(total, seconds);
+        checkInvariants();
+    }
+
+    private List<Long> seed() {
+        List<Long> ids = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                    "Load Item " + i, "LOAD-" + i, null, BigDecimal.ONE, STOCK)).getId());
+        }
+        return ids;
+    }
+
+    private Operation[] weightedSchedule() {
+        List<Operation> schedule = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(parts[1].trim()); i++) {
+                schedule.add(operation);
+            }
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private CompletableFuture<?> send(Operation operation, long intended) {
+        Placed cancel = operation == Operation.CANCEL ? placed.poll() : null;
+        if (operation == Operation.CANCEL && cancel == null) {
+            operation = Operation.RESERVE;
+        }
+        Long itemId = pickItem();
+        String base = "http://localhost:" + port;
+        String customerId = "load-" + ThreadLocalRandom.current().nextInt(10_000);
+
+        HttpRequest request = switch (operation) {
+            case RESERVE -> HttpRequest.newBuilder(URI.create(base + "/api/reservations"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"itemId\":%d,\"customerId\":\"%s\",\"quantity\":%d}",
+                            itemId, customerId, ThreadLocalRandom.current().nextInt(1, 4))))
+                    .build();
+            case CANCEL -> HttpRequest.newBuilder(URI.create(base + "/api/reservations/"
+                            + cancel.reservationId() + "/cancel?customerId=" + cancel.customerId()))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case AVAILABILITY -> HttpRequest.newBuilder(URI.create(base + "/api/inventory/" + itemId
+                            + "/availability?quantity=1"))
+                    .GET()
+                    .build();
+            case SUPPLY -> HttpRequest.newBuilder(URI.create(base + "/api/inventory/" + itemId + "/supply?quantity=5"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+
+        Operation sent = operation;
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    latencies.get(sent).recordValue(Math.max(0, System.nanoTime() - intended));
+                    String outcome = failure != null ? "error" : String.valueOf(response.statusCode());
+                    outcomes.computeIfAbsent(sent + " " + outcome, key -> new AtomicInteger()).incrementAndGet();
+                    if (failure == null && sent == Operation.RESERVE && response.statusCode() == 201) {
+                        remember(response.body());
+                    }
+                    return null;
+                });
+    }
+
+    private Long pickItem() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return random.nextDouble() < HOT_SHARE ? itemIds.get(0) : itemIds.get(random.nextInt(itemIds.size()));
+    }
+
+    private void remember(String body) {
+        try {
+            Map<?, ?> reservation = objectMapper.readValue(body, Map.class);
+            placed.add(new Placed(((Number) reservation.get("id")).longValue(), (String) reservation.get("customerId")));
+        } catch (IOException e) {
+            outcomes.computeIfAbsent("unparseable reservation", key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private void report(long total, double seconds) throws IOException {
+        new File("target/load").mkdirs();
+        System.out.printf("%,d requests in %.1f s (%,.0f req/s offered, %,.0f req/s achieved)%n",
+                total, seconds, (double) RATE, total / seconds);
+        System.out.printf("%-13s %8s %8s %8s %8s %8s %8s%n", "operation", "count", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("%-13s %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n", entry.getKey(), histogram.getTotalCount(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            try (PrintStream out = new PrintStream(new FileOutputStream(
+                    "target/load/" + entry.getKey().name().toLowerCase() + ".hgrm"))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        System.out.println("outcomes: " + new LinkedHashMap<>(outcomes));
+    }
+
+    private void checkInvariants() {
+        if (stockLedger.isEnabled()) {
+            stockLedger.flush();
+        }
+        List<InventoryItemResponse> items = inventoryService.getAllActiveItems();
+        assertEquals(ITEMS, items.size());
+        for (InventoryItemResponse item : items) {
+            assertTrue(item.getAvailableQuantity() >= 0, "negative stock for " + item.getSku());
+            assertEquals(item.getTotalQuantity(), item.getAvailableQuantity() + item.getReservedQuantity(),
+                    "total != available + reserved for " + item.getSku());
+            assertEquals(item.getReservedQuantity(),
+                    reservationRepository.getTotalReservedQuantity(item.getId(), ReservationStatus.ACTIVE).orElse(0),
+                    "reserved != sum of ACTIVE reservations for " + item.getSku());
+        }
+        assertFalse(outcomes.keySet().stream().anyMatch(outcome -> outcome.endsWith(" 500") || outcome.endsWith(" error")),
+                "server or client errors: " + outcomes);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
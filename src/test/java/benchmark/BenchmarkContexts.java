@@ -0,0 +1,33 @@
+package benchmark;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Starts the application without a web server and with logging turned
+     * down, so benchmark iterations measure the service and not the console.
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.springframework.cache=WARN",
+                "inventory.expiry.enabled=false"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(SpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
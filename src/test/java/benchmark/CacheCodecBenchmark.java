@@ -0,0 +1,65 @@
+package benchmark;
+
+import com.ecommerce.springboot.cache.BinaryCacheValueCodec;
+import com.ecommerce.springboot.cache.CacheValueCodec;
+import com.ecommerce.springboot.cache.JdkCacheValueCodec;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"jdk", "binary"})
+    public String codecName;
+
+    private CacheValueCodec codec;
+    private InventoryItemResponse item;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        codec = codec(codecName);
+        item = sampleItem();
+        encoded = codec.encode(item);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(item);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.decode(encoded);
+    }
+
+    static CacheValueCodec codec(String name) {
+        return "jdk".equals(name) ? new JdkCacheValueCodec() : new BinaryCacheValueCodec();
+    }
+
+    static InventoryItemResponse sampleItem() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 250_000_000);
+        return new InventoryItemResponse(123_456L, "Stainless Steel Water Bottle 750ml", "BOTTLE-SS-750",
+                "Double-walled, vacuum insulated bottle", new BigDecimal("24.99"),
+                5_000, 4_870, 130, true, now.minusDays(30), now);
+    }
+}
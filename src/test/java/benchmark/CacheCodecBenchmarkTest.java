@@ -0,0 +1,31 @@
+package benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link CacheCodecBenchmark} under JMH and prints the encoded size of a
+ * typical item per codec. Run with {@code mvn -Pbenchmark test}; results are
+ * also written to {@code target/jmh-cache-codec.json}.
+ */
+@Tag("benchmark")
+class CacheCodecBenchmarkTest {
+
+    @Test
+    void benchmarkCacheCodecs() throws RunnerException {
+        for (String codec : new String[]{"jdk", "binary"}) {
+            int bytes = CacheCodecBenchmark.codec(codec).encode(CacheCodecBenchmark.sampleItem()).length;
+            System.out.printf("InventoryItemResponse, %-6s: %d bytes per entry%n", codec, bytes);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(CacheCodecBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-cache-codec.json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the hot path benchmarks (reservations per mode, SKU lookups hot and
+ * cold, response mapping, cache codecs) at 1, 8 and 64 threads with the GC
+ * profiler, writing one JSON result per thread count to
+ * {@code target/jmh/hot-paths-<threads>t.json} for comparison between
+ * commits. {@code -Djmh.include=<regex>} and {@code -Djmh.threads=1,8}
+ * narrow a run.
+ */
+@Tag("benchmark")
+class HotPathBenchmarkTest {
+
+    private static final String DEFAULT_INCLUDE = String.join("|",
+            ReservationServiceBenchmark.class.getSimpleName(),
+            InventoryReadBenchmark.class.getSimpleName(),
+            MapToResponseBenchmark.class.getSimpleName(),
+            CacheCodecBenchmark.class.getSimpleName());
+
+    @Test
+    void benchmarkHotPaths() throws RunnerException {
+        String include = System.getProperty("jmh.include", DEFAULT_INCLUDE);
+        new File("target/jmh").mkdirs();
+
+        for (String threads : System.getProperty("jmh.threads", "1,8,64").split(",")) {
+            new Runner(new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh/hot-paths-" + threads.trim() + "t.json")
+                    .build()).run();
+        }
+    }
+}
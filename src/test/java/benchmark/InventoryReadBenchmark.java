@@ -0,0 +1,61 @@
+package benchmark;
+
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getItemBySku} served from a local cache (hot) and from H2 on every
+ * call (cold).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryReadBenchmark {
+
+    @Param({"hot", "cold"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start(
+                "spring.cache.type=" + ("hot".equals(cache) ? "caffeine" : "none"),
+                "spring.datasource.url=jdbc:h2:mem:read-bench");
+        inventoryService = context.getBean(InventoryService.class);
+        inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Benchmark Item", "BENCH-READ", "Benchmark item", BigDecimal.TEN, 1_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public InventoryItemResponse getItemBySku() {
+        return inventoryService.getItemBySku("BENCH-READ");
+    }
+}
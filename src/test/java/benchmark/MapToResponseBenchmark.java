@@ -0,0 +1,58 @@
+package benchmark;
+
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.service.InventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to response mapping done for every item read. Run with
+ * the GC profiler ({@code gc.alloc.rate.norm}) to see bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapToResponseBenchmark {
+
+    private InventoryService inventoryService;
+    private MethodHandle mapToResponse;
+    private InventoryItem item;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        inventoryService = new InventoryService();
+        mapToResponse = MethodHandles.privateLookupIn(InventoryService.class, MethodHandles.lookup())
+                .findVirtual(InventoryService.class, "mapToResponse",
+                        MethodType.methodType(InventoryItemResponse.class, InventoryItem.class));
+
+        item = new InventoryItem("Stainless Steel Water Bottle 750ml", "BOTTLE-SS-750",
+                "Double-walled, vacuum insulated bottle", new BigDecimal("24.99"), 5_000);
+        item.setId(123_456L);
+        item.setCreatedAt(LocalDateTime.now().minusDays(30));
+        item.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public InventoryItemResponse mapToResponse() throws Throwable {
+        return (InventoryItemResponse) mapToResponse.invokeExact(inventoryService, item);
+    }
+}
@@ -0,0 +1,23 @@
+package benchmark;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@Tag("benchmark")
+@SpringBootTest(classes = SpringbootApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.ecommerce.springboot=WARN",
+        "server.tomcat.max-connections=" + ReservationLoadTestSupport.CONNECTIONS,
+        "server.tomcat.accept-count=" + ReservationLoadTestSupport.CONNECTIONS,
+        "spring.datasource.url=jdbc:h2:mem:load-platform;LOCK_TIMEOUT=120000"
+})
+class PlatformThreadReservationLoadTest extends ReservationLoadTestSupport {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,114 @@
+package benchmark;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.entity.Reservation;
+import com.ecommerce.springboot.service.InventoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Compares inserting 100k reservations the way Hibernate has to with IDENTITY
+ * keys (one statement and one generated-key fetch per row) against the pooled
+ * sequence mapping with JDBC batching. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "spring.datasource.url=jdbc:h2:mem:insert-benchmark"
+})
+class ReservationInsertBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    private static final String IDENTITY_TABLE_SQL =
+            "CREATE TABLE reservations_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, item_id BIGINT NOT NULL, " +
+            "customer_id VARCHAR(255) NOT NULL, quantity INT NOT NULL, status VARCHAR(32) NOT NULL, " +
+            "created_at TIMESTAMP NOT NULL, expires_at TIMESTAMP, version BIGINT)";
+
+    private static final String IDENTITY_INSERT_SQL =
+            "INSERT INTO reservations_identity (item_id, customer_id, quantity, status, created_at, expires_at, version) " +
+            "VALUES (?, ?, ?, 'ACTIVE', ?, ?, 0)";
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void benchmarkReservationInserts() {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Benchmark Item", "BENCH-001", null, BigDecimal.ONE, ROWS)).getId();
+
+        double identityRate = rowsPerSecond(() -> insertRowByRow(itemId));
+        double sequenceRate = rowsPerSecond(() -> insertWithSequenceBatching(itemId));
+
+        System.out.printf("Reservation inserts, %d rows:%n", ROWS);
+        System.out.printf("  IDENTITY, row by row       : %,.0f rows/s%n", identityRate);
+        System.out.printf("  pooled sequence, batched   : %,.0f rows/s (%.1fx)%n", sequenceRate, sequenceRate / identityRate);
+    }
+
+    private void insertRowByRow(Long itemId) {
+        jdbcTemplate.execute(IDENTITY_TABLE_SQL);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((Connection connection) -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plusMinutes(30));
+            try (PreparedStatement ps = connection.prepareStatement(IDENTITY_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < ROWS; i++) {
+                    ps.setLong(1, itemId);
+                    ps.setString(2, "cust-" + i);
+                    ps.setInt(3, 1);
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, expiresAt);
+                    ps.executeUpdate();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+            }
+            return null;
+        }));
+    }
+
+    private void insertWithSequenceBatching(Long itemId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(new Reservation(itemId, "cust-" + i, 1));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    private static double rowsPerSecond(Runnable insert) {
+        long started = System.nanoTime();
+        insert.run();
+        return ROWS / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opens {@link #CONNECTIONS} concurrent connections against
+ * {@code POST /api/reservations}, all released at once, and prints latency
+ * percentiles and throughput. Subclasses start the application with and
+ * without virtual threads. Needs a file descriptor limit above twice the
+ * connection count ({@code ulimit -n}).
+ */
+abstract class ReservationLoadTestSupport {
+
+    static final int CONNECTIONS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    abstract String mode();
+
+    @Test
+    void reservationLatencyUnderConcurrentConnections() throws Exception {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Load Item", "LOAD-001", null, BigDecimal.ONE, CONNECTIONS)).getId();
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(32);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(clientExecutor)
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/reservations");
+
+        long[] latencies = new long[CONNECTIONS];
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CONNECTIONS);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            int request = i;
+            HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(120))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"itemId\":%d,\"customerId\":\"load-%d\",\"quantity\":1}", itemId, request)))
+                    .build();
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<Void>> response =
+                    client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding());
+            response.whenComplete((result, failure) -> {
+                latencies[request] = System.nanoTime() - sent;
+                if (failure != null) {
+                    errors.incrementAndGet();
+                } else {
+                    statuses.computeIfAbsent(result.statusCode(), status -> new AtomicInteger()).incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        clientExecutor.shutdownNow();
+
+        Arrays.sort(latencies);
+        System.out.printf("POST /api/reservations, %d concurrent connections, %s:%n", CONNECTIONS, mode());
+        System.out.printf("  throughput : %,.0f req/s%n", CONNECTIONS / seconds);
+        System.out.printf("  p50        : %,d ms%n", percentile(latencies, 0.50));
+        System.out.printf("  p90        : %,d ms%n", percentile(latencies, 0.90));
+        System.out.printf("  p99        : %,d ms%n", percentile(latencies, 0.99));
+        System.out.printf("  max        : %,d ms%n", latencies[CONNECTIONS - 1] / 1_000_000);
+        System.out.printf("  statuses   : %s, client errors: %d%n", statuses, errors.get());
+
+        assertEquals(0, errors.get());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1_000_000;
+    }
+}
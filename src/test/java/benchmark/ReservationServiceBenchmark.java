@@ -0,0 +1,81 @@
+package benchmark;
+
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.dto.ReservationResponse;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserve-then-cancel of one unit on a single item against H2, so every
+ * thread contends on the same stock. HOT is LOCKING with the item in hot
+ * stock mode (16 buckets).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationServiceBenchmark {
+
+    @Param({"LOCKING", "ATOMIC", "OPTIMISTIC", "LEDGER", "HOT"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private Long itemId;
+
+    @State(Scope.Thread)
+    public static class Customer {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        final String customerId = "bench-" + NEXT.incrementAndGet();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start(
+                "inventory.reservation.mode=" + ("HOT".equals(mode) ? "LOCKING" : mode),
+                "spring.cache.type=none",
+                "spring.datasource.url=jdbc:h2:mem:reservation-bench;LOCK_TIMEOUT=60000");
+        reservationService = context.getBean(ReservationService.class);
+
+        InventoryService inventoryService = context.getBean(InventoryService.class);
+        itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Benchmark Item", "BENCH-RES", null, BigDecimal.ONE, 1_000_000)).getId();
+        if ("HOT".equals(mode)) {
+            inventoryService.enableHotStock(itemId, 16);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReservationResponse reserveAndCancel(Customer customer) {
+        ReservationResponse reservation = reservationService.createReservation(
+                new ReservationRequest(itemId, customer.customerId, 1));
+        return reservationService.cancelReservation(reservation.getId(), customer.customerId);
+    }
+}
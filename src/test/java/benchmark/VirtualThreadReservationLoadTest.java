@@ -0,0 +1,27 @@
+package benchmark;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(classes = SpringbootApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.com.ecommerce.springboot=WARN",
+        "server.tomcat.max-connections=" + ReservationLoadTestSupport.CONNECTIONS,
+        "server.tomcat.accept-count=" + ReservationLoadTestSupport.CONNECTIONS,
+        "spring.datasource.url=jdbc:h2:mem:load-virtual;LOCK_TIMEOUT=120000"
+})
+class VirtualThreadReservationLoadTest extends ReservationLoadTestSupport {
+
+    @Override
+    String mode() {
+        return "virtual threads, admission limited to the JDBC pool";
+    }
+}
@@ -0,0 +1,72 @@
+package cache;
+
+import com.ecommerce.springboot.cache.BinaryCacheValueCodec;
+import com.ecommerce.springboot.cache.JdkCacheValueCodec;
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCacheValueCodecTest {
+
+    private final BinaryCacheValueCodec codec = new BinaryCacheValueCodec();
+
+    private InventoryItemResponse sampleItem() {
+        return new InventoryItemResponse(42L, "Sample Item", "SKU-42", "Café mug",
+                new BigDecimal("19.99"), 100, 90, 10, true,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789), LocalDateTime.of(2024, 1, 3, 0, 0));
+    }
+
+    @Test
+    void testItemRoundTrip() {
+        InventoryItemResponse item = sampleItem();
+
+        assertEquals(item, codec.decode(codec.encode(item)));
+    }
+
+    @Test
+    void testNullFieldsAndLargeDecimalRoundTrip() {
+        InventoryItemResponse item = sampleItem();
+        item.setDescription(null);
+        item.setUpdatedAt(null);
+        item.setPrice(new BigDecimal("123456789012345678901234567890.123456"));
+
+        assertEquals(item, codec.decode(codec.encode(item)));
+    }
+
+    @Test
+    void testPageRoundTrip() {
+        InventoryPage page = new InventoryPage(List.of(sampleItem(), sampleItem()), "NDI");
+
+        assertEquals(page, codec.decode(codec.encode(page)));
+    }
+
+    @Test
+    void testOtherValuesFallBackToJdk() {
+        assertEquals("plain", codec.decode(codec.encode("plain")));
+    }
+
+    @Test
+    void testSmallerThanJdkSerialization() {
+        InventoryItemResponse item = sampleItem();
+
+        assertTrue(codec.encode(item).length * 3 < new JdkCacheValueCodec().encode(item).length);
+    }
+
+    @Test
+    void testUnknownVersionOrForeignBytesDecodeAsMiss() {
+        byte[] bytes = codec.encode(sampleItem());
+        byte[] futureVersion = Arrays.copyOf(bytes, bytes.length);
+        futureVersion[1]++;
+
+        assertNull(codec.decode(futureVersion));
+        assertNull(codec.decode(new JdkCacheValueCodec().encode(sampleItem())));
+        assertNull(codec.decode(Arrays.copyOf(bytes, bytes.length - 3)));
+    }
+}
@@ -0,0 +1,72 @@
+package cache;
+
+import com.ecommerce.springboot.cache.TwoTierCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private Cache l1;
+    private Cache l2;
+    private TwoTierCache.Invalidations invalidations;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        l1 = new ConcurrentMapCache("inventory");
+        l2 = new ConcurrentMapCache("inventory");
+        invalidations = mock(TwoTierCache.Invalidations.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache("inventory", l1, l2, invalidations, meterRegistry);
+    }
+
+    @Test
+    void testL2HitPopulatesL1() {
+        l2.put("sku_A", "value");
+
+        assertEquals("value", cache.get("sku_A", String.class));
+        assertEquals("value", l1.get("sku_A", String.class));
+        assertEquals("value", cache.get("sku_A", String.class));
+
+        assertEquals(1, gets("l1", "hit"));
+        assertEquals(1, gets("l1", "miss"));
+        assertEquals(1, gets("l2", "hit"));
+    }
+
+    @Test
+    void testMissInBothTiers() {
+        assertNull(cache.get("sku_A"));
+
+        assertEquals(1, gets("l2", "miss"));
+    }
+
+    @Test
+    void testEvictClearsBothTiersAndBroadcasts() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+
+        assertNull(l1.get(1L));
+        assertNull(l2.get(1L));
+        verify(invalidations, times(2)).evicted("inventory", 1L);
+    }
+
+    @Test
+    void testValueLoaderStoresInBothTiers() {
+        assertEquals("loaded", cache.get("sku_B", () -> "loaded"));
+
+        assertEquals("loaded", l1.get("sku_B", String.class));
+        assertEquals("loaded", l2.get("sku_B", String.class));
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("inventory.cache.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,113 @@
+package metrics;
+
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InventoryMetrics inventoryMetrics;
+
+    @BeforeEach
+    void setUp() {
+        inventoryMetrics = new InventoryMetrics();
+        ReflectionTestUtils.setField(inventoryMetrics, "meterRegistry", meterRegistry);
+        inventoryMetrics.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(inventoryMetrics);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testOperationTimeIsSplitIntoLockWaitAndDbTime() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryMetrics.beginOperation("reserve");
+        inventoryMetrics.beginOperation("nested");
+        inventoryMetrics.recordLockWait(TimeUnit.MILLISECONDS.toNanos(5));
+        // longer than the recorded lock wait, so the db time is a real remainder rather than clamped to zero
+        Thread.sleep(20);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        Timer operation = meterRegistry.get("inventory.operation")
+                .tags("operation", "reserve", "outcome", "success").timer();
+        Timer db = meterRegistry.get("inventory.operation.db").tag("operation", "reserve").timer();
+        assertEquals(1, operation.count());
+        assertEquals(5, meterRegistry.get("inventory.operation.lock.wait")
+                .tag("operation", "reserve").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, db.count());
+        assertTrue(db.totalTime(TimeUnit.MILLISECONDS) >= 15);
+        assertEquals(operation.totalTime(TimeUnit.MILLISECONDS) - 5, db.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertNull(meterRegistry.find("inventory.operation").tag("operation", "nested").timer());
+        assertFalse(TransactionSynchronizationManager.hasResource(inventoryMetrics));
+    }
+
+    @Test
+    void testRolledBackOperationIsAFailure() {
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryMetrics.beginOperation("cancel");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(1, meterRegistry.get("inventory.operation")
+                .tags("operation", "cancel", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void testLockWaitOutsideAnOperationIsTaggedOther() {
+        inventoryMetrics.recordLockWait(1_000);
+
+        assertEquals(1, meterRegistry.get("inventory.operation.lock.wait").tag("operation", "other").timer().count());
+    }
+
+    @Test
+    void testInsufficientStockSeriesAreCappedPerItem() {
+        ReflectionTestUtils.setField(inventoryMetrics, "maxTaggedItems", 2);
+
+        inventoryMetrics.insufficientStock(1L);
+        inventoryMetrics.insufficientStock(2L);
+        inventoryMetrics.insufficientStock(3L);
+        inventoryMetrics.insufficientStock(1L);
+
+        assertEquals(2, meterRegistry.get("inventory.reservations.insufficient.stock").tag("item", "1").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.reservations.insufficient.stock").tag("item", "2").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.reservations.insufficient.stock").tag("item", "other").counter().count());
+    }
+
+    @Test
+    void testCacheLookupsAreTaggedByKeyType() {
+        inventoryMetrics.recordCacheLookup("inventory", "sku_ABC", true);
+        inventoryMetrics.recordCacheLookup("inventory", "sku_DEF", false);
+        inventoryMetrics.recordCacheLookup("availability", 7L, false);
+
+        assertEquals(1, meterRegistry.get("inventory.cache.lookups")
+                .tags("cache", "inventory", "key.type", "sku", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.cache.lookups")
+                .tags("cache", "inventory", "key.type", "sku", "result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.cache.lookups")
+                .tags("cache", "availability", "key.type", "id", "result", "miss").counter().count());
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,100 @@
+package metrics;
+
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockContentionTrackerTest {
+
+    private LockContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LockContentionTracker();
+        ReflectionTestUtils.setField(tracker, "topK", 3);
+    }
+
+    @Test
+    void testTopItemsAreOrderedByWaitTime() {
+        lock(1L, 10);
+        lock(2L, 50);
+        lock(3L, 20);
+        lock(1L, 5);
+
+        List<LockContentionTracker.Contention> top = tracker.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals(2L, top.get(0).itemId());
+        assertEquals(3L, top.get(1).itemId());
+        assertEquals(0, top.get(0).error());
+    }
+
+    @Test
+    void testHeavyHitterSurvivesManyColdItems() {
+        for (long itemId = 100; itemId < 1_100; itemId++) {
+            lock(itemId, 1);
+            lock(7L, 10);
+        }
+
+        LockContentionTracker.Contention hottest = tracker.top(1).get(0);
+        assertEquals(7L, hottest.itemId());
+        assertEquals(1_000, hottest.acquisitions());
+        assertEquals(10_000, hottest.totalWaitNanos());
+        // the score never underestimates, and overestimates by at most the error
+        assertTrue(hottest.score() >= 10_000);
+        assertTrue(hottest.score() - hottest.error() <= 10_000);
+    }
+
+    @Test
+    void testEvictedItemInheritsTheSmallestScoreAsError() {
+        lock(1L, 30);
+        lock(2L, 20);
+        lock(3L, 10);
+        lock(4L, 5);
+
+        LockContentionTracker.Contention newcomer = tracker.top(3).stream()
+                .filter(contention -> contention.itemId() == 4L)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(15, newcomer.score());
+        assertEquals(10, newcomer.error());
+        assertEquals(3, tracker.top(10).size());
+    }
+
+    @Test
+    void testQueueDepthIsTracked() {
+        int first = tracker.waiting(1L);
+        int second = tracker.waiting(1L);
+        assertEquals(1, first);
+        assertEquals(2, second);
+
+        tracker.acquired(1L, 100, first);
+        assertEquals(1, tracker.top(1).get(0).waitingNow());
+
+        tracker.acquired(1L, 200, second);
+        LockContentionTracker.Contention contention = tracker.top(1).get(0);
+        assertEquals(0, contention.waitingNow());
+        assertEquals(2, contention.maxQueued());
+        assertEquals(200, contention.maxWaitNanos());
+    }
+
+    @Test
+    void testDecayHalvesScoresAndResetClears() {
+        lock(1L, 40);
+
+        tracker.decay();
+        assertEquals(20, tracker.top(1).get(0).score());
+
+        tracker.reset();
+        assertTrue(tracker.top(1).isEmpty());
+    }
+
+    private void lock(Long itemId, long waitNanos) {
+        tracker.acquired(itemId, waitNanos, tracker.waiting(itemId));
+    }
+}
@@ -0,0 +1,80 @@
+package outbox;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.dto.ReservationResponse;
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.outbox.InMemoryOutboxSink;
+import com.ecommerce.springboot.outbox.InventoryChangeEvent;
+import com.ecommerce.springboot.outbox.InventoryChangeType;
+import com.ecommerce.springboot.outbox.OutboxRelay;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.outbox.enabled=true",
+        "inventory.outbox.sink=memory",
+        "inventory.outbox.relay.enabled=false",
+        "inventory.outbox.relay.batch-size=2",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:inventory-outbox"
+})
+class InventoryOutboxTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCommittedChangesArePublishedInOrderAndRolledBackOnesAreNot() {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Outbox Item", "OUTBOX-001", "Outbox test item", BigDecimal.TEN, 5)).getId();
+        inventoryService.addSupply(itemId, 2);
+        ReservationResponse reservation = reservationService.createReservation(
+                new ReservationRequest(itemId, "cust1", 3));
+        assertThrows(InsufficientStockException.class,
+                () -> reservationService.createReservation(new ReservationRequest(itemId, "cust2", 50)));
+        reservationService.cancelReservation(reservation.getId(), "cust1");
+        inventoryService.deactivateItem(itemId);
+
+        outboxSink.clear();
+        assertEquals(5, outboxRelay.relay());
+
+        List<InventoryChangeEvent> events = outboxSink.events();
+        assertEquals(List.of(InventoryChangeType.CREATED, InventoryChangeType.SUPPLIED, InventoryChangeType.RESERVED,
+                        InventoryChangeType.CANCELLED, InventoryChangeType.DEACTIVATED),
+                events.stream().map(InventoryChangeEvent::type).toList());
+        assertEquals(List.of(5, 2, 3, 3, 0), events.stream().map(InventoryChangeEvent::quantity).toList());
+        assertEquals(reservation.getId(), events.get(2).reservationId());
+        assertEquals(reservation.getId(), events.get(3).reservationId());
+        events.forEach(event -> assertEquals(itemId, event.itemId()));
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).id() > events.get(i - 1).id());
+        }
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_outbox", Integer.class));
+        assertEquals(0, outboxRelay.relay());
+    }
+}
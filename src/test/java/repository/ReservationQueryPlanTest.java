@@ -0,0 +1,138 @@
+package repository;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads {@code plan.rows} reservations and fails if the SQL generated for any
+ * {@link ReservationRepository} query method is planned as a scan of the
+ * whole reservations table. The default build loads 5,000 rows, enough for
+ * H2 to prefer an index; {@code mvn -Pbenchmark test} runs it with 1,000,000.
+ */
+@Tag("query-plan")
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "inventory.expiry.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=repository.ReservationQueryPlanTest$RecordingInspector",
+        "spring.datasource.url=jdbc:h2:mem:reservation-query-plans"
+})
+class ReservationQueryPlanTest {
+
+    private static final int ROWS = Integer.getInteger("plan.rows", 5_000);
+
+    // 10,000 items, 100,000 customers, one in ten reservations ACTIVE, expiry spread over ~70 days
+    private static final String LOAD_SQL =
+            "INSERT INTO reservations (id, item_id, customer_id, quantity, status, created_at, expires_at, version) " +
+            "SELECT X, MOD(X, 10000), 'customer-' || MOD(X, 100000), 1 + MOD(X, 3), " +
+            "CASE MOD(X, 10) WHEN 0 THEN 'ACTIVE' WHEN 1 THEN 'CANCELLED' WHEN 2 THEN 'FULFILLED' ELSE 'EXPIRED' END, " +
+            "DATEADD(MINUTE, -MOD(X, 100000), LOCALTIMESTAMP), " +
+            "DATEADD(MINUTE, 30 - MOD(X, 100000), LOCALTIMESTAMP), 0 " +
+            "FROM SYSTEM_RANGE(1, %d)";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testNoRepositoryQueryScansTheReservationsTable() throws Exception {
+        jdbcTemplate.update(String.format(LOAD_SQL, ROWS));
+        jdbcTemplate.execute("ANALYZE TABLE reservations");
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByCustomerIdAndStatus/2",
+                () -> reservationRepository.findByCustomerIdAndStatus("customer-42", ReservationStatus.ACTIVE));
+        queries.put("findByItemIdAndStatus/2",
+                () -> reservationRepository.findByItemIdAndStatus(42L, ReservationStatus.ACTIVE));
+        queries.put("findByIdAndCustomerId/2",
+                () -> reservationRepository.findByIdAndCustomerId(42L, "customer-42"));
+        queries.put("findExpiredReservations/2",
+                () -> reservationRepository.findExpiredReservations(ReservationStatus.ACTIVE, now.minusDays(60)));
+        queries.put("findExpiredReservations/4",
+                () -> reservationRepository.findExpiredReservations(ReservationStatus.ACTIVE, now, 0L, PageRequest.of(0, 500)));
+        queries.put("getTotalReservedQuantity/2",
+                () -> reservationRepository.getTotalReservedQuantity(42L, ReservationStatus.ACTIVE));
+
+        assertEquals(declaredQueryMethods(), new TreeSet<>(queries.keySet()),
+                "every query method of ReservationRepository needs a plan check here");
+
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            RecordingInspector.statements.clear();
+            query.getValue().run();
+            List<String> statements = List.copyOf(RecordingInspector.statements);
+            assertFalse(statements.isEmpty(), query.getKey() + " issued no SQL");
+
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertFalse(plan.toLowerCase().contains("reservations.tablescan"),
+                        query.getKey() + " scans the reservations table:\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) throws Exception {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // H2 plans without looking at parameter values, so any value will do
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static Set<String> declaredQueryMethods() {
+        Set<String> methods = new TreeSet<>();
+        for (Method method : ReservationRepository.class.getDeclaredMethods()) {
+            if (!method.isDefault() && !method.isSynthetic()) {
+                methods.add(method.getName() + "/" + method.getParameterCount());
+            }
+        }
+        return methods;
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase().contains("reservations")) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
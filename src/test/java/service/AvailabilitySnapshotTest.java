@@ -0,0 +1,92 @@
+package service;
+
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.service.AvailabilitySnapshot;
+import com.ecommerce.springboot.service.InventoryItemsChangedEvent;
+import com.ecommerce.springboot.service.StockLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilitySnapshotTest {
+
+    @InjectMocks
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        availabilitySnapshot.init();
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(1L, 2L);
+            when(rs.getInt("available_quantity")).thenReturn(10, 3);
+            when(rs.getBoolean("active")).thenReturn(true, false);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testSingleItemIsLoadedOnce() {
+        assertTrue(availabilitySnapshot.isAvailable(1L, 5));
+        assertFalse(availabilitySnapshot.isAvailable(1L, 11));
+
+        verify(namedParameterJdbcTemplate, times(1)).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testMultipleItemsInOneQuery() {
+        Map<Long, Boolean> available = availabilitySnapshot.areAvailable(List.of(1L, 2L, 99L), 2);
+
+        assertEquals(Map.of(1L, true, 2L, false, 99L, false), available);
+        verify(namedParameterJdbcTemplate, times(1)).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testUnknownItemThrows() {
+        assertThrows(ItemNotFoundException.class, () -> availabilitySnapshot.isAvailable(99L, 1));
+    }
+
+    @Test
+    void testChangeEventForcesReload() {
+        availabilitySnapshot.isAvailable(1L, 1);
+        availabilitySnapshot.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L)));
+        availabilitySnapshot.isAvailable(1L, 1);
+
+        verify(namedParameterJdbcTemplate, times(2)).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testLedgerModeReadsCounters() {
+        when(stockLedger.isEnabled()).thenReturn(true);
+        when(stockLedger.level(1L)).thenReturn(new StockLedger.Level(2, 0, true));
+
+        assertTrue(availabilitySnapshot.isAvailable(1L, 2));
+        assertFalse(availabilitySnapshot.isAvailable(1L, 3));
+        verifyNoInteractions(namedParameterJdbcTemplate);
+    }
+}
@@ -0,0 +1,28 @@
+package service;
+
+import com.ecommerce.springboot.service.CsvLineParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvLineParserTest {
+
+    @Test
+    void testSplit_PlainFields() {
+        assertEquals(List.of("Item A", "SKU001", "", "9.99", "10"),
+                CsvLineParser.split("Item A,SKU001,,9.99,10"));
+    }
+
+    @Test
+    void testSplit_QuotedFieldsWithCommasAndQuotes() {
+        assertEquals(List.of("Item, large", "SKU002", "say \"hi\"", "1", "2"),
+                CsvLineParser.split("\"Item, large\",SKU002,\"say \"\"hi\"\"\",1,2"));
+    }
+
+    @Test
+    void testSplit_UnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvLineParser.split("\"Item,SKU003"));
+    }
+}
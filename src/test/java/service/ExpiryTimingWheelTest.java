@@ -0,0 +1,75 @@
+package service;
+
+import com.ecommerce.springboot.service.ExpiryTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryTimingWheelTest {
+
+    private ExpiryTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new ExpiryTimingWheel(1000, 8, 0);
+    }
+
+    @Test
+    void testFiresAtDeadline() {
+        wheel.schedule(1L, 3000);
+
+        assertTrue(wheel.advance(2999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testNeverFiresBeforeDeadline() {
+        wheel.schedule(1L, 3001);
+
+        assertTrue(wheel.advance(3000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(4000));
+    }
+
+    @Test
+    void testCascadesFromOverflowWheel() {
+        wheel.schedule(1L, 20000);
+        wheel.schedule(2L, 100000);
+
+        assertTrue(wheel.advance(19999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(20000));
+        assertTrue(wheel.advance(99999).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(100000));
+    }
+
+    @Test
+    void testCancel() {
+        wheel.schedule(1L, 3000);
+        wheel.schedule(2L, 3000);
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        assertEquals(List.of(2L), wheel.advance(5000));
+    }
+
+    @Test
+    void testOverdueFiresOnNextAdvance() {
+        wheel.advance(10000);
+        wheel.schedule(1L, 5000);
+
+        assertEquals(List.of(1L), wheel.advance(10000));
+    }
+
+    @Test
+    void testRescheduleReplacesDeadline() {
+        wheel.schedule(1L, 3000);
+        wheel.schedule(1L, 6000);
+
+        assertTrue(wheel.advance(5000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(6000));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,164 @@
+package service;
+
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.InventoryException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import com.ecommerce.springboot.service.HotStockBuckets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotStockBucketsTest {
+
+    @InjectMocks
+    private HotStockBuckets hotStockBuckets;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @Mock
+    private LockContentionTracker lockContentionTracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        // item 1 is hot with 4 buckets
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(1L);
+            when(rs.getInt("stock_buckets")).thenReturn(4);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, stock_buckets"), any(RowCallbackHandler.class));
+        hotStockBuckets.refresh();
+    }
+
+    @Test
+    void testItemNotInHotModeIsLeftToTheCaller() {
+        assertFalse(hotStockBuckets.reserve(2L, 1, "customer1"));
+        assertFalse(hotStockBuckets.release(2L, 1, "customer1"));
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testReserveTakesFromTheCustomersBucketOnly() {
+        when(jdbcTemplate.update(startsWith("UPDATE inventory_stock_buckets SET available_quantity = available_quantity -"),
+                any(Object[].class))).thenReturn(1);
+
+        assertTrue(hotStockBuckets.reserve(1L, 2, "customer1"));
+
+        verify(jdbcTemplate, never()).query(startsWith("SELECT available_quantity, active"), any(RowMapper.class), any());
+    }
+
+    @Test
+    void testDryBucketRebalancesRemainingStock() throws Exception {
+        lockedItem(2, true, 4);
+        lockedBuckets(0, 1, 3, 0);
+
+        assertTrue(hotStockBuckets.reserve(1L, 3, "customer1"));
+
+        // 2 on the item row + 4 in the buckets - 3 reserved = 3 left, spread as 1, 1, 1, 0
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE inventory_stock_buckets SET available_quantity = ?"),
+                updates.capture());
+        assertEquals(2, updates.getValue().size());
+        assertArrayEquals(new Object[]{1, 1L, 0}, updates.getValue().get(0));
+        assertArrayEquals(new Object[]{1, 1L, 2}, updates.getValue().get(1));
+        verify(jdbcTemplate).update(startsWith("UPDATE inventory_items SET available_quantity = 0"), eq(4), any(), eq(1L));
+    }
+
+    @Test
+    void testRebalanceFailsWhenPooledStockIsShort() throws Exception {
+        lockedItem(0, true, 4);
+        lockedBuckets(1, 0, 1, 0);
+
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> hotStockBuckets.reserve(1L, 3, "customer1"));
+        assertEquals("Insufficient stock. Available: 2, Requested: 3", e.getMessage());
+    }
+
+    @Test
+    void testItemSwitchedBackIsLeftToTheCaller() throws Exception {
+        lockedItem(5, true, 0);
+
+        assertFalse(hotStockBuckets.reserve(1L, 1, "customer1"));
+        assertEquals(0, hotStockBuckets.buckets(1L));
+    }
+
+    @Test
+    void testEnableSplitsAvailableStockEvenly() throws Exception {
+        lockedItem(10, true, 0);
+
+        hotStockBuckets.enable(1L, 4);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO inventory_stock_buckets"), rows.capture());
+        List<Integer> split = new ArrayList<>();
+        rows.getValue().forEach(row -> split.add((Integer) row[2]));
+        assertEquals(List.of(3, 3, 2, 2), split);
+        verify(jdbcTemplate).update(startsWith("UPDATE inventory_items SET available_quantity = 0"), eq(4), any(), eq(1L));
+    }
+
+    @Test
+    void testEnableRejectsInvalidBucketCount() {
+        assertThrows(InventoryException.class, () -> hotStockBuckets.enable(1L, 0));
+        assertThrows(InventoryException.class, () -> hotStockBuckets.enable(1L, HotStockBuckets.MAX_BUCKETS + 1));
+    }
+
+    @Test
+    void testDisableMovesBucketsBackToTheItem() throws Exception {
+        lockedItem(1, true, 4);
+        lockedBuckets(2, 2, 1, 0);
+
+        hotStockBuckets.disable(1L);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE inventory_items SET available_quantity = ?"),
+                eq(6), eq(6), any(), eq(1L));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM inventory_stock_buckets"), eq(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void lockedItem(int available, boolean active, int buckets) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("available_quantity")).thenReturn(available);
+        when(rs.getBoolean("active")).thenReturn(active);
+        when(rs.getInt("stock_buckets")).thenReturn(buckets);
+        doAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            return List.of(mapper.mapRow(rs, 0));
+        }).when(jdbcTemplate).query(startsWith("SELECT available_quantity, active"), any(RowMapper.class), eq(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void lockedBuckets(int... quantities) {
+        doAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> result = new ArrayList<>();
+            for (int i = 0; i < quantities.length; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("available_quantity")).thenReturn(quantities[i]);
+                result.add(mapper.mapRow(rs, i));
+            }
+            return result;
+        }).when(jdbcTemplate).query(startsWith("SELECT available_quantity FROM inventory_stock_buckets"),
+                any(RowMapper.class), eq(1L));
+    }
+}
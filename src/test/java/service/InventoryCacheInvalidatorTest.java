@@ -0,0 +1,102 @@
+package service;
+
+import com.ecommerce.springboot.service.InventoryCacheInvalidator;
+import com.ecommerce.springboot.service.InventoryItemsChangedEvent;
+import com.ecommerce.springboot.service.InventoryPageCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InventoryCacheInvalidatorTest {
+
+    @InjectMocks
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private InventoryPageCache inventoryPageCache;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = cacheManager.getCache(InventoryCacheInvalidator.ITEM_CACHE);
+        cache.put(1L, "by id");
+        cache.put("sku_SKU123", "by sku");
+        cache.put("sku_OTHER", "other item");
+        when(inventoryPageCache.removeCovering(argThat(ids -> ids.contains(1L)))).thenReturn(List.of("page_0_50"));
+        cacheManager.getCache(InventoryPageCache.CACHE_NAME).put("page_0_50", "page");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void testEvictsIdSkuAndPageKeys() {
+        inventoryCacheInvalidator.itemChanged(1L, "SKU123");
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get("sku_SKU123"));
+        assertNotNull(cache.get("sku_OTHER"));
+        assertNull(cacheManager.getCache(InventoryPageCache.CACHE_NAME).get("page_0_50"));
+        verifyNoInteractions(namedParameterJdbcTemplate);
+        verify(applicationEventPublisher).publishEvent(InventoryItemsChangedEvent.of(List.of(1L)));
+    }
+
+    @Test
+    void testEvictsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        inventoryCacheInvalidator.itemChanged(1L, "SKU123");
+        inventoryCacheInvalidator.itemChanged(1L);
+
+        assertNotNull(cache.get("sku_SKU123"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get("sku_SKU123"));
+        verify(inventoryPageCache, times(1)).removeCovering(Set.of(1L));
+    }
+
+    @Test
+    void testRollbackKeepsEntries() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        inventoryCacheInvalidator.itemChanged(1L, "SKU123");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertNotNull(cache.get("sku_SKU123"));
+    }
+}
@@ -0,0 +1,202 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ImportError;
+import com.ecommerce.springboot.dto.ImportReport;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.service.InventoryCacheInvalidator;
+import com.ecommerce.springboot.service.InventoryImportService;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.import.chunk-size=3",
+        "inventory.import.max-reported-errors=2",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:inventory-import"
+})
+class InventoryImportServiceTest {
+
+    @Autowired
+    private InventoryImportService inventoryImportService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @MockitoSpyBean
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Test
+    void testNdjsonInsertsNewSkusAndUpdatesExistingOnes() throws IOException {
+        Long existing = createItem("Import Existing", "IMP-001", 10);
+
+        ImportReport report = inventoryImportService.importNdjson(body(
+                ndjson("Import Existing Renamed", "IMP-001", "12.50", 25),
+                ndjson("Import New", "IMP-002", "3.00", 7)));
+
+        assertEquals(2, report.getProcessed());
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+
+        InventoryItem updated = inventoryRepository.findById(existing).orElseThrow();
+        assertEquals("Import Existing Renamed", updated.getItemName());
+        assertEquals(0, new BigDecimal("12.50").compareTo(updated.getPrice()));
+        assertEquals(25, updated.getTotalQuantity());
+        assertEquals(25, updated.getAvailableQuantity());
+
+        InventoryItem created = inventoryRepository.findBySku("IMP-002").orElseThrow();
+        assertEquals(7, created.getTotalQuantity());
+        assertEquals(7, created.getAvailableQuantity());
+        assertTrue(created.getActive());
+    }
+
+    @Test
+    void testCsvInsertsNewSkusAndUpdatesExistingOnes() throws IOException {
+        Long existing = createItem("Csv Existing", "CSV-001", 10);
+
+        ImportReport report = inventoryImportService.importCsv(body(
+                "sku,itemName,description,price,totalQuantity",
+                "CSV-001,Csv Existing,\"Updated, with a comma\",5.00,15",
+                "CSV-002,Csv New,,2.00,4"));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, report.getFailed());
+
+        InventoryItem updated = inventoryRepository.findById(existing).orElseThrow();
+        assertEquals("Updated, with a comma", updated.getDescription());
+        assertEquals(15, updated.getTotalQuantity());
+        assertEquals(4, inventoryRepository.findBySku("CSV-002").orElseThrow().getTotalQuantity());
+    }
+
+    @Test
+    void testDuplicateSkuWithinAChunkIsRejected() throws IOException {
+        ImportReport report = inventoryImportService.importNdjson(body(
+                ndjson("Duplicate First", "DUP-001", "1.00", 5),
+                ndjson("Duplicate Second", "DUP-001", "1.00", 9)));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(new ImportError(2, "DUP-001", "Duplicate SKU within the same chunk"), report.getErrors().get(0));
+        assertEquals(5, inventoryRepository.findBySku("DUP-001").orElseThrow().getTotalQuantity());
+    }
+
+    @Test
+    void testBadRowsAreReportedWithoutAbortingTheirChunkAndErrorsAreCapped() throws IOException {
+        createItem("Taken Name", "TAKEN-001", 1);
+
+        ImportReport report = inventoryImportService.importNdjson(body(
+                "{not json",
+                ndjson("Row Ok One", "ROW-001", "1.00", 1),
+                // unique item name clash: fails the whole chunk in the database, which is then retried row by row
+                ndjson("Taken Name", "ROW-002", "1.00", 1),
+                ndjson("Row Ok Two", "ROW-003", "1.00", 1),
+                ndjson("", "ROW-004", "1.00", 1)));
+
+        assertEquals(5, report.getProcessed());
+        assertEquals(2, report.getCreated());
+        assertEquals(3, report.getFailed());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        assertEquals(1, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed record"));
+
+        assertTrue(inventoryRepository.findBySku("ROW-001").isPresent());
+        assertTrue(inventoryRepository.findBySku("ROW-003").isPresent());
+        assertTrue(inventoryRepository.findBySku("ROW-002").isEmpty());
+        assertTrue(inventoryRepository.findBySku("ROW-004").isEmpty());
+    }
+
+    @Test
+    void testUpdateBelowTheReservedQuantityIsRefused() throws IOException {
+        Long itemId = createItem("Reserved Item", "RES-001", 10);
+        reservationService.createReservation(new ReservationRequest(itemId, "cust1", 6));
+
+        ImportReport report = inventoryImportService.importNdjson(body(
+                ndjson("Reserved Item", "RES-001", "1.00", 5)));
+
+        assertEquals(0, report.getUpdated());
+        assertEquals(new ImportError(1, "RES-001", "Total quantity is below the quantity currently reserved"),
+                report.getErrors().get(0));
+        InventoryItem item = inventoryRepository.findById(itemId).orElseThrow();
+        assertEquals(10, item.getTotalQuantity());
+        assertEquals(4, item.getAvailableQuantity());
+        assertEquals(6, item.getReservedQuantity());
+    }
+
+    @Test
+    void testHotStockItemIsSkipped() throws IOException {
+        Long itemId = createItem("Hot Item", "HOT-001", 10);
+        inventoryService.enableHotStock(itemId, 2);
+
+        ImportReport report = inventoryImportService.importNdjson(body(
+                ndjson("Hot Item", "HOT-001", "1.00", 50),
+                ndjson("Cold Item", "COLD-001", "1.00", 5)));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(0, report.getUpdated());
+        assertEquals(new ImportError(1, "HOT-001", "Item is in hot stock mode, disable it before importing"),
+                report.getErrors().get(0));
+        assertEquals(10, inventoryRepository.findById(itemId).orElseThrow().getTotalQuantity());
+    }
+
+    @Test
+    void testReadFailureAfterACommittedChunkStillInvalidatesCaches() {
+        InputStream failing = new SequenceInputStream(body(
+                ndjson("Partial One", "PART-001", "1.00", 1),
+                ndjson("Partial Two", "PART-002", "1.00", 1),
+                ndjson("Partial Three", "PART-003", "1.00", 1), ""), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+        clearInvocations(inventoryCacheInvalidator);
+
+        assertThrows(IOException.class, () -> inventoryImportService.importNdjson(failing));
+
+        // the first chunk was committed before the client went away
+        assertTrue(inventoryRepository.findBySku("PART-003").isPresent());
+        verify(inventoryCacheInvalidator).allChanged();
+    }
+
+    private Long createItem(String name, String sku, int quantity) {
+        return inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                name, sku, "Import test item", BigDecimal.TEN, quantity)).getId();
+    }
+
+    private static String ndjson(String name, String sku, String price, int quantity) {
+        return String.format("{\"itemName\":\"%s\",\"sku\":\"%s\",\"price\":%s,\"totalQuantity\":%d}",
+                name, sku, price, quantity);
+    }
+
+    private static InputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", List.of(lines)).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package service;
+
+import com.ecommerce.springboot.dto.InventoryPage;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.service.InventoryPageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InventoryPageCacheTest {
+
+    @InjectMocks
+    private InventoryPageCache inventoryPageCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRemoveCoveringReturnsOnlyCoveringPage() {
+        inventoryPageCache.put(0L, 10, page("a"), 10L);
+        inventoryPageCache.put(10L, 10, page("b"), 20L);
+        inventoryPageCache.put(20L, 10, page("c"), Long.MAX_VALUE);
+        inventoryPageCache.put(0L, 50, page("d"), Long.MAX_VALUE);
+
+        assertEquals(Set.of("page_10_10", "page_0_50"), Set.copyOf(inventoryPageCache.removeCovering(List.of(15L))));
+        assertTrue(inventoryPageCache.removeCovering(List.of(15L)).isEmpty());
+    }
+
+    @Test
+    void testNewItemIsCoveredByLastPage() {
+        inventoryPageCache.put(0L, 10, page("a"), 10L);
+        inventoryPageCache.put(10L, 10, page("b"), Long.MAX_VALUE);
+
+        assertEquals(List.of("page_10_10"), inventoryPageCache.removeCovering(List.of(500L)));
+    }
+
+    @Test
+    void testOverlappingPageReplacesStaleRanges() {
+        inventoryPageCache.put(0L, 10, page("a"), 10L);
+        inventoryPageCache.put(10L, 10, page("b"), 20L);
+
+        // item 5 was deactivated, so the first page now reaches further
+        inventoryPageCache.put(0L, 10, page("a2"), 11L);
+
+        assertEquals("a2", inventoryPageCache.get(0L, 10).getNextCursor());
+        assertNull(inventoryPageCache.get(10L, 10));
+    }
+
+    @Test
+    void testRangesAreKeptInRedisWhenTheCacheIsShared() {
+        RedisCacheManager redisCacheManager = mock(RedisCacheManager.class);
+        Cache pages = new ConcurrentMapCache(InventoryPageCache.CACHE_NAME);
+        when(redisCacheManager.getCache(InventoryPageCache.CACHE_NAME)).thenReturn(pages);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        InventoryPageCache shared = new InventoryPageCache();
+        ReflectionTestUtils.setField(shared, "cacheManager", redisCacheManager);
+        ReflectionTestUtils.setField(shared, "redisTemplate", redisTemplate);
+        shared.init();
+
+        // the script reports the stale page the new one overlaps
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("inventory:pages:ranges:10", "inventory:pages:sizes")),
+                any(Object[].class))).thenReturn(List.of("10"));
+        pages.put("page_10_10", page("stale"));
+        shared.put(0L, 10, page("a"), 15L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq("0"), eq("15"), eq("600000"), eq("10"));
+        assertNull(pages.get("page_10_10"));
+        assertNotNull(pages.get("page_0_10"));
+
+        // a page cached by another node is found through the shared index as well
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("inventory:pages:sizes")), any(Object[].class)))
+                .thenReturn(List.of("10", "0", "50", "20"));
+        assertEquals(List.of("page_0_10", "page_20_50"), shared.removeCovering(List.of(5L, 30L)));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("inventory:pages:sizes")),
+                eq("inventory:pages:ranges:"), eq("5"), eq("30"));
+    }
+
+    private static InventoryPage page(String cursor) {
+        return new InventoryPage(List.of(), cursor);
+    }
+}
@@ -1,15 +1,23 @@
 package service;
 
 import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.InventoryPage;
 import com.ecommerce.springboot.entity.InventoryItem;
 import com.ecommerce.springboot.entity.InventoryItemResponse;
 import com.ecommerce.springboot.exception.InventoryException;
 import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import com.ecommerce.springboot.outbox.OutboxWriter;
+import com.ecommerce.springboot.service.HotStockBuckets;
+import com.ecommerce.springboot.service.InventoryCacheInvalidator;
+import com.ecommerce.springboot.service.InventoryPageCache;
 import com.ecommerce.springboot.service.InventoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import com.ecommerce.springboot.repository.InventoryRepository;
 
 import java.math.BigDecimal;
@@ -27,6 +35,24 @@ class InventoryServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private InventoryPageCache inventoryPageCache;
+
+    @Mock
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Mock
+    private HotStockBuckets hotStockBuckets;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @Mock
+    private LockContentionTracker lockContentionTracker;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -96,6 +122,7 @@ class InventoryServiceTest {
         InventoryItemResponse response = inventoryService.addSupply(1L, 5);
 
         assertEquals(15, response.getTotalQuantity());
+        verify(inventoryCacheInvalidator).itemChanged(1L, "SKU123");
     }
 
     @Test
@@ -116,6 +143,7 @@ class InventoryServiceTest {
 
         InventoryItemResponse response = inventoryService.deactivateItem(1L);
         assertFalse(response.getActive());
+        verify(inventoryCacheInvalidator).itemChanged(1L, "SKU123");
     }
 
     @Test
@@ -136,6 +164,21 @@ class InventoryServiceTest {
         assertFalse(inventoryService.isItemAvailable(1L, 5));
     }
 
+    @Test
+    void testHotItemReportsAggregatedQuantities() {
+        InventoryItem item = sampleItem();
+        item.setStockBuckets(4);
+        item.setAvailableQuantity(1);
+        item.setReservedQuantity(item.getTotalQuantity() - 1);
+        when(inventoryRepository.findBySku("SKU123")).thenReturn(Optional.of(item));
+        when(hotStockBuckets.bucketTotal(1L)).thenReturn(6);
+
+        InventoryItemResponse response = inventoryService.getItemBySku("SKU123");
+
+        assertEquals(7, response.getAvailableQuantity());
+        assertEquals(item.getTotalQuantity() - 7, response.getReservedQuantity());
+    }
+
     @Test
     void testGetAllActiveItems() {
         List<InventoryItem> list = List.of(sampleItem());
@@ -144,5 +187,50 @@ class InventoryServiceTest {
         List<InventoryItemResponse> response = inventoryService.getAllActiveItems();
         assertEquals(1, response.size());
     }
-}
 
+    @Test
+    void testGetActiveItemsPage_FullPageReturnsCursor() {
+        InventoryItem first = sampleItem();
+        InventoryItem second = sampleItem();
+        second.setId(2L);
+        when(inventoryRepository.findActivePage(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+
+        InventoryPage page = inventoryService.getActiveItemsPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        verify(inventoryPageCache).put(0L, 2, page, 2L);
+
+        when(inventoryRepository.findActivePage(2L, PageRequest.of(0, 2))).thenReturn(List.of());
+        InventoryPage next = inventoryService.getActiveItemsPage(page.getNextCursor(), 2);
+
+        assertTrue(next.getItems().isEmpty());
+        assertNull(next.getNextCursor());
+        verify(inventoryPageCache).put(2L, 2, next, Long.MAX_VALUE);
+    }
+
+    @Test
+    void testGetActiveItemsPage_ServedFromCache() {
+        InventoryPage cached = new InventoryPage(List.of(), null);
+        when(inventoryPageCache.get(0L, 50)).thenReturn(cached);
+
+        assertSame(cached, inventoryService.getActiveItemsPage(null, null));
+        verify(inventoryRepository, never()).findActivePage(any(), any());
+    }
+
+    @Test
+    void testGetActiveItemsPage_InvalidCursor() {
+        assertThrows(InventoryException.class, () -> inventoryService.getActiveItemsPage("not a cursor!", 10));
+        assertThrows(InventoryException.class, () -> inventoryService.getActiveItemsPage(null, 501));
+    }
+
+    @Test
+    void testEnableHotStock() {
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(sampleItem()));
+
+        inventoryService.enableHotStock(1L, 8);
+
+        verify(hotStockBuckets).enable(1L, 8);
+        verify(inventoryCacheInvalidator).itemChanged(1L);
+    }
+}
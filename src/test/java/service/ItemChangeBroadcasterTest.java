@@ -0,0 +1,72 @@
+package service;
+
+import com.ecommerce.springboot.service.InventoryItemsChangedEvent;
+import com.ecommerce.springboot.service.ItemChangeBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ItemChangeBroadcasterTest {
+
+    @InjectMocks
+    private ItemChangeBroadcaster itemChangeBroadcaster;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Captor
+    private ArgumentCaptor<String> sent;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testLocalChangesAreBroadcastAndRemoteOnesAreNot() {
+        itemChangeBroadcaster.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L, 2L)));
+        itemChangeBroadcaster.onItemsChanged(InventoryItemsChangedEvent.allItems());
+        itemChangeBroadcaster.onItemsChanged(InventoryItemsChangedEvent.remoteOf(List.of(3L)));
+
+        verify(redisTemplate, times(2)).convertAndSend(eq(ItemChangeBroadcaster.CHANNEL), sent.capture());
+        assertTrue(sent.getAllValues().get(0).endsWith("\t1,2"));
+        assertTrue(sent.getAllValues().get(1).endsWith("\t*"));
+    }
+
+    @Test
+    void testChangesFromOtherNodesArePublishedAsRemoteEvents() {
+        itemChangeBroadcaster.onMessage(message("other-node\t1,x,2"), null);
+        itemChangeBroadcaster.onMessage(message("other-node\t*"), null);
+
+        verify(applicationEventPublisher).publishEvent(InventoryItemsChangedEvent.remoteOf(List.of(1L, 2L)));
+        verify(applicationEventPublisher).publishEvent(InventoryItemsChangedEvent.remoteAllItems());
+    }
+
+    @Test
+    void testOwnBroadcastIsIgnored() {
+        itemChangeBroadcaster.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L)));
+        verify(redisTemplate).convertAndSend(eq(ItemChangeBroadcaster.CHANNEL), sent.capture());
+
+        itemChangeBroadcaster.onMessage(message(sent.getValue()), null);
+
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ItemChangeBroadcaster.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.reservation.mode=OPTIMISTIC",
+        "inventory.reservation.optimistic.max-attempts=8",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:optimistic-reservation-concurrency;LOCK_TIMEOUT=10000"
+})
+class OptimisticReservationConcurrencyTest {
+
+    private static final int WRITERS = 32;
+    private static final int ATTEMPTS_PER_WRITER = 20;
+    private static final int STOCK = 500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testParallelWriters_ConflictsAreRetriedAndNoUpdateIsLost() throws Exception {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Optimistic Item", "OPT-001", "Contended item", BigDecimal.TEN, STOCK)).getId();
+
+        AtomicInteger reservedUnits = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger exhausted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            String customerId = "cust-" + writer;
+            int quantity = writer % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_WRITER; attempt++) {
+                    try {
+                        reservationService.createReservation(new ReservationRequest(itemId, customerId, quantity));
+                        reservedUnits.addAndGet(quantity);
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        exhausted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // a conflicting attempt rolled back as a whole: no reservation row without its stock update, and vice versa
+        InventoryItem item = inventoryRepository.findById(itemId).orElseThrow();
+        assertTrue(item.getAvailableQuantity() >= 0);
+        assertEquals(STOCK, item.getAvailableQuantity() + item.getReservedQuantity());
+        assertEquals(reservedUnits.get(), item.getReservedQuantity());
+        assertEquals(reservedUnits.get(),
+                reservationRepository.getTotalReservedQuantity(itemId, ReservationStatus.ACTIVE).orElse(0));
+
+        double conflicts = meterRegistry.get("inventory.reservation.optimistic.conflicts").counter().count();
+        assertTrue(conflicts > 0);
+        assertEquals(exhausted.get(),
+                meterRegistry.get("inventory.reservation.optimistic.exhausted").counter().count());
+        assertTrue(rejected.get() > 0);
+    }
+}
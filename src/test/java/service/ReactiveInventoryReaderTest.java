@@ -0,0 +1,112 @@
+package service;
+
+import com.ecommerce.springboot.entity.InventoryItemResponse;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.service.AvailabilitySnapshot;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReactiveInventoryReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveInventoryReaderTest {
+
+    @InjectMocks
+    private ReactiveInventoryReader reactiveInventoryReader;
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveCacheRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Spy
+    private RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig();
+
+    @Mock
+    private RedisCacheManager cacheManager;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reactiveInventoryReader.init();
+        when(reactiveCacheRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveInventoryReader.shutdown();
+    }
+
+    @Test
+    void testCachedItemIsReadWithoutTheService() {
+        InventoryItemResponse item = sampleResponse();
+        when(valueOperations.get("inventory::sku_SKU123")).thenReturn(Mono.just(item));
+
+        assertEquals(item, reactiveInventoryReader.getItemBySku("SKU123").block());
+        verify(inventoryService, never()).getItemBySku(any());
+    }
+
+    @Test
+    void testCacheMissFallsBackToTheService() {
+        InventoryItemResponse item = sampleResponse();
+        when(valueOperations.get("inventory::sku_SKU123")).thenReturn(Mono.empty());
+        when(inventoryService.getItemBySku("SKU123")).thenReturn(item);
+
+        assertEquals(item, reactiveInventoryReader.getItemBySku("SKU123").block());
+    }
+
+    @Test
+    void testRedisFailureFallsBackToTheService() {
+        InventoryItemResponse item = sampleResponse();
+        when(valueOperations.get("inventory::sku_SKU123")).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(inventoryService.getItemBySku("SKU123")).thenReturn(item);
+
+        assertEquals(item, reactiveInventoryReader.getItemBySku("SKU123").block());
+    }
+
+    @Test
+    void testAvailabilityFromSnapshotSkipsBlockingLoad() {
+        when(availabilitySnapshot.cachedAvailability(1L, 2)).thenReturn(true);
+
+        assertTrue(reactiveInventoryReader.isItemAvailable(1L, 2).block());
+        verify(availabilitySnapshot, never()).isAvailable(any(), any());
+    }
+
+    @Test
+    void testAvailabilityMissLoadsOnBlockingScheduler() {
+        when(availabilitySnapshot.cachedAvailability(1L, 2)).thenReturn(null);
+        when(availabilitySnapshot.isAvailable(1L, 2)).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("inventory-reads"));
+            return false;
+        });
+
+        assertFalse(reactiveInventoryReader.isItemAvailable(1L, 2).block());
+    }
+
+    private static InventoryItemResponse sampleResponse() {
+        return new InventoryItemResponse(1L, "Sample Item", "SKU123", "Desc", new BigDecimal("10.00"),
+                10, 10, 0, true, LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,96 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.reservation.mode=ATOMIC",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:reservation-concurrency;LOCK_TIMEOUT=10000"
+})
+class ReservationConcurrencyTest {
+
+    private static final int WRITERS = 64;
+    private static final int ATTEMPTS_PER_WRITER = 20;
+    private static final int STOCK = 500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void testParallelWriters_StockNeverGoesNegative() throws Exception {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Flash Sale Item", "FLASH-001", "Contended item", BigDecimal.TEN, STOCK)).getId();
+
+        AtomicInteger reservedUnits = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            String customerId = "cust-" + writer;
+            int quantity = writer % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_WRITER; attempt++) {
+                    try {
+                        reservationService.createReservation(new ReservationRequest(itemId, customerId, quantity));
+                        reservedUnits.addAndGet(quantity);
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        InventoryItem item = inventoryRepository.findById(itemId).orElseThrow();
+        assertTrue(item.getAvailableQuantity() >= 0);
+        assertTrue(rejected.get() > 0);
+        assertEquals(STOCK, item.getAvailableQuantity() + item.getReservedQuantity());
+        assertEquals(reservedUnits.get(), item.getReservedQuantity());
+        assertEquals(reservedUnits.get(),
+                reservationRepository.getTotalReservedQuantity(itemId, ReservationStatus.ACTIVE).orElse(0));
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationExpiryScheduler;
+import com.ecommerce.springboot.service.ReservationExpiryService;
+import com.ecommerce.springboot.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.expiry.timing-wheel.enabled=true",
+        "inventory.expiry.timing-wheel.tick-ms=50",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:reservation-expiry-wheel"
+})
+class ReservationExpirySchedulerTest {
+
+    @Autowired
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private ReservationExpiryService reservationExpiryService;
+
+    @AfterEach
+    void tearDown() {
+        reset(reservationExpiryService);
+    }
+
+    @Test
+    void testReservationExpiringAfterTheCatchUpSweepIsStillExpired() throws InterruptedException {
+        Long itemId = inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                "Wheel Item", "WHEEL-001", "Expiry wheel test item", BigDecimal.TEN, 10)).getId();
+        Long reservationId = reservationService.createReservation(
+                new ReservationRequest(itemId, "cust1", 4)).getId();
+        jdbcTemplate.update("UPDATE reservations SET expires_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), reservationId);
+
+        // restart as if the reservation had expired between the catch-up sweep and loading the wheel
+        reservationExpiryScheduler.stop();
+        doReturn(0).when(reservationExpiryService).sweep();
+        reservationExpiryScheduler.start();
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (status(reservationId) == ReservationStatus.ACTIVE && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(ReservationStatus.EXPIRED, status(reservationId));
+        InventoryItem item = inventoryRepository.findById(itemId).orElseThrow();
+        assertEquals(10, item.getAvailableQuantity());
+        assertEquals(0, item.getReservedQuantity());
+    }
+
+    private ReservationStatus status(Long reservationId) {
+        return reservationRepository.findById(reservationId).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,182 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.entity.InventoryItem;
+import com.ecommerce.springboot.entity.Reservation;
+import com.ecommerce.springboot.entity.ReservationStatus;
+import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ReservationRepository;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationExpiryService;
+import com.ecommerce.springboot.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = SpringbootApplication.class, properties = {
+        "inventory.expiry.enabled=false",
+        "inventory.expiry.batch-size=2",
+        "spring.cache.type=none",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:reservation-expiry"
+})
+class ReservationExpiryServiceTest {
+
+    @Autowired
+    private ReservationExpiryService reservationExpiryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> releases;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(reservationExpiryService, "maxPerRun", 50000);
+    }
+
+    @Test
+    void testSweepPagesThroughExpiredReservationsAndReleasesStockPerItem() {
+        Long first = createItem("Expiry Item A", "EXP-A", 10);
+        Long second = createItem("Expiry Item B", "EXP-B", 10);
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expired.add(reserve(first, "cust" + i, 1));
+        }
+        expired.add(reserve(second, "cust3", 2));
+        expired.add(reserve(second, "cust4", 2));
+        Long pending = reserve(first, "cust5", 1);
+        expired.forEach(this::expire);
+
+        double expiredBefore = counter("inventory.reservations.expired");
+        double unitsBefore = counter("inventory.reservations.expired.units");
+        clearInvocations(jdbcTemplate);
+
+        // five rows with a batch size of 2 take three pages
+        assertEquals(5, reservationExpiryService.sweep());
+
+        expired.forEach(id -> assertEquals(ReservationStatus.EXPIRED, status(id)));
+        assertEquals(ReservationStatus.ACTIVE, status(pending));
+        assertStock(first, 9, 1);
+        assertStock(second, 10, 0);
+
+        // one stock update per item and page, never one per reservation
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("UPDATE inventory_items"), releases.capture());
+        assertEquals(List.of(1, 2, 1), releases.getAllValues().stream().map(List::size).toList());
+
+        assertEquals(5, counter("inventory.reservations.expired") - expiredBefore);
+        assertEquals(7, counter("inventory.reservations.expired.units") - unitsBefore);
+        assertEquals(0, meterRegistry.get("inventory.reservations.expiry.lag.seconds").gauge().value());
+    }
+
+    @Test
+    void testMaxPerRunLeavesTheRestForTheNextRunAndReportsLag() {
+        Long itemId = createItem("Expiry Item C", "EXP-C", 10);
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(reserve(itemId, "cust" + i, 1));
+        }
+        expired.forEach(this::expire);
+        ReflectionTestUtils.setField(reservationExpiryService, "maxPerRun", 3);
+
+        assertEquals(3, reservationExpiryService.sweep());
+        assertStock(itemId, 8, 2);
+        // the oldest row left behind expired an hour ago
+        assertTrue(meterRegistry.get("inventory.reservations.expiry.lag.seconds").gauge().value() >= 3500);
+
+        assertEquals(2, reservationExpiryService.sweep());
+        assertStock(itemId, 10, 0);
+        assertEquals(0, meterRegistry.get("inventory.reservations.expiry.lag.seconds").gauge().value());
+    }
+
+    @Test
+    void testReservationCancelledAfterItWasReadIsNotExpiredTwice() {
+        Long itemId = createItem("Expiry Item D", "EXP-D", 10);
+        Long cancelled = reserve(itemId, "cust1", 2);
+        Long expired = reserve(itemId, "cust2", 3);
+        expire(cancelled);
+        expire(expired);
+
+        List<Reservation> page = reservationRepository.findExpiredReservations(
+                ReservationStatus.ACTIVE, LocalDateTime.now(), 0L, PageRequest.of(0, 10));
+        assertEquals(2, page.size());
+        // a cancel commits between reading the page and expiring it
+        jdbcTemplate.update("UPDATE reservations SET status = 'CANCELLED', version = version + 1 WHERE id = ?",
+                cancelled);
+        jdbcTemplate.update("UPDATE inventory_items SET available_quantity = available_quantity + 2, "
+                + "reserved_quantity = reserved_quantity - 2 WHERE id = ?", itemId);
+
+        ReservationExpiryService.ExpiryResult result = reservationExpiryService.expire(page);
+
+        assertEquals(1, result.expired());
+        assertEquals(Map.of(itemId, 3), result.releasedByItem());
+        assertEquals(ReservationStatus.CANCELLED, status(cancelled));
+        assertEquals(ReservationStatus.EXPIRED, status(expired));
+        assertStock(itemId, 10, 0);
+    }
+
+    private Long createItem(String name, String sku, int quantity) {
+        return inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                name, sku, "Expiry test item", BigDecimal.TEN, quantity)).getId();
+    }
+
+    private Long reserve(Long itemId, String customerId, int quantity) {
+        return reservationService.createReservation(new ReservationRequest(itemId, customerId, quantity)).getId();
+    }
+
+    private void expire(Long reservationId) {
+        jdbcTemplate.update("UPDATE reservations SET expires_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), reservationId);
+    }
+
+    private ReservationStatus status(Long reservationId) {
+        return reservationRepository.findById(reservationId).orElseThrow().getStatus();
+    }
+
+    private void assertStock(Long itemId, int available, int reserved) {
+        InventoryItem item = inventoryRepository.findById(itemId).orElseThrow();
+        assertEquals(available, item.getAvailableQuantity());
+        assertEquals(reserved, item.getReservedQuantity());
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
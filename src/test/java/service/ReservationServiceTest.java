@@ -1,5 +1,8 @@
 package service;
 
+import com.ecommerce.springboot.dto.BatchReservationLine;
+import com.ecommerce.springboot.dto.BatchReservationRequest;
+import com.ecommerce.springboot.dto.BatchReservationResponse;
 import com.ecommerce.springboot.dto.ReservationRequest;
 import com.ecommerce.springboot.dto.ReservationResponse;
 import com.ecommerce.springboot.entity.InventoryItem;
@@ -8,13 +11,25 @@ import com.ecommerce.springboot.entity.ReservationStatus;
 import com.ecommerce.springboot.exception.InsufficientStockException;
 import com.ecommerce.springboot.exception.ItemNotFoundException;
 import com.ecommerce.springboot.exception.ReservationNotFoundException;
+import com.ecommerce.springboot.metrics.InventoryMetrics;
+import com.ecommerce.springboot.metrics.LockContentionTracker;
+import com.ecommerce.springboot.outbox.OutboxWriter;
+import com.ecommerce.springboot.service.HotStockBuckets;
+import com.ecommerce.springboot.service.InventoryCacheInvalidator;
+import com.ecommerce.springboot.service.ReservationExpiryScheduler;
+import com.ecommerce.springboot.service.ReservationMode;
 import com.ecommerce.springboot.service.ReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import com.ecommerce.springboot.repository.InventoryRepository;
+import com.ecommerce.springboot.repository.ItemStockVersion;
 import com.ecommerce.springboot.repository.ReservationRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -33,9 +48,32 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+
+    @Mock
+    private InventoryCacheInvalidator inventoryCacheInvalidator;
+
+    @Mock
+    private HotStockBuckets hotStockBuckets;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @Mock
+    private LockContentionTracker lockContentionTracker;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     private InventoryItem sampleItem() {
@@ -78,6 +116,19 @@ class ReservationServiceTest {
         assertEquals(2, response.getQuantity());
     }
 
+    @Test
+    void testCreateReservation_HotItemSkipsItemRowLock() {
+        ReservationRequest request = new ReservationRequest(1L, "cust123", 2);
+
+        when(hotStockBuckets.reserve(1L, 2, "cust123")).thenReturn(true);
+        when(reservationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservationService.createReservation(request);
+
+        verify(inventoryRepository, never()).findByIdWithLock(any());
+        verify(inventoryCacheInvalidator).itemChanged(1L);
+    }
+
     @Test
     void testCreateReservation_ItemNotFound() {
         ReservationRequest request = new ReservationRequest(1L, "cust123", 2);
@@ -96,6 +147,7 @@ class ReservationServiceTest {
         when(inventoryRepository.findByIdWithLock(1L)).thenReturn(Optional.of(item));
 
         assertThrows(InsufficientStockException.class, () -> reservationService.createReservation(request));
+        verify(inventoryMetrics).insufficientStock(1L);
     }
 
     @Test
@@ -150,5 +202,158 @@ class ReservationServiceTest {
         assertThrows(ReservationNotFoundException.class,
                 () -> reservationService.getReservationById(100L));
     }
-}
 
+    @Test
+    void testCreateReservations_LocksInAscendingItemOrder() {
+        InventoryItem first = sampleItem();
+        InventoryItem second = sampleItem();
+        second.setId(2L);
+        BatchReservationRequest request = new BatchReservationRequest("cust123", List.of(
+                new BatchReservationLine(2L, 1),
+                new BatchReservationLine(1L, 2)));
+
+        when(inventoryRepository.findByIdWithLock(1L)).thenReturn(Optional.of(first));
+        when(inventoryRepository.findByIdWithLock(2L)).thenReturn(Optional.of(second));
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchReservationResponse response = reservationService.createReservations(request);
+
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).findByIdWithLock(1L);
+        inOrder.verify(inventoryRepository).findByIdWithLock(2L);
+        assertEquals(2, response.getReservations().size());
+        assertEquals(2L, response.getReservations().get(0).getItemId());
+        assertEquals(1L, response.getReservations().get(1).getItemId());
+        assertEquals(3, first.getAvailableQuantity());
+        assertEquals(4, second.getAvailableQuantity());
+    }
+
+    @Test
+    void testCreateReservations_InsufficientStock_NothingSaved() {
+        InventoryItem first = sampleItem();
+        InventoryItem second = sampleItem();
+        second.setId(2L);
+        BatchReservationRequest request = new BatchReservationRequest("cust123", List.of(
+                new BatchReservationLine(1L, 2),
+                new BatchReservationLine(2L, 50)));
+
+        when(inventoryRepository.findByIdWithLock(1L)).thenReturn(Optional.of(first));
+        when(inventoryRepository.findByIdWithLock(2L)).thenReturn(Optional.of(second));
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.createReservations(request));
+        verify(reservationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testCreateReservationGroup_AcceptsInOrderWhileStockLasts() {
+        InventoryItem item = sampleItem();
+        when(inventoryRepository.findByIdWithLock(1L)).thenReturn(Optional.of(item));
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ReservationService.GroupOutcome> outcomes = reservationService.createReservationGroup(1L, List.of(
+                new ReservationRequest(1L, "cust1", 3),
+                new ReservationRequest(1L, "cust2", 3),
+                new ReservationRequest(1L, "cust3", 2)));
+
+        assertEquals("cust1", outcomes.get(0).response().getCustomerId());
+        assertInstanceOf(InsufficientStockException.class, outcomes.get(1).failure());
+        assertEquals("Insufficient stock. Available: 2, Requested: 3", outcomes.get(1).failure().getMessage());
+        assertEquals("cust3", outcomes.get(2).response().getCustomerId());
+
+        assertEquals(0, item.getAvailableQuantity());
+        assertEquals(5, item.getReservedQuantity());
+        verify(inventoryRepository, times(1)).findByIdWithLock(1L);
+        verify(inventoryRepository, times(1)).save(item);
+        verify(inventoryCacheInvalidator).itemChanged(1L);
+        verify(inventoryMetrics).insufficientStock(1L);
+    }
+
+    @Test
+    void testCreateReservationGroup_HotItemLocksItemRowBeforeBuckets() {
+        InventoryItem item = sampleItem();
+        item.setStockBuckets(4);
+        when(hotStockBuckets.buckets(1L)).thenReturn(4);
+        when(hotStockBuckets.reserve(eq(1L), anyInt(), anyString())).thenReturn(true);
+        when(inventoryRepository.findByIdWithLock(1L)).thenReturn(Optional.of(item));
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ReservationService.GroupOutcome> outcomes = reservationService.createReservationGroup(1L, List.of(
+                new ReservationRequest(1L, "cust1", 3),
+                new ReservationRequest(1L, "cust2", 3)));
+
+        assertEquals("cust2", outcomes.get(1).response().getCustomerId());
+        InOrder inOrder = inOrder(inventoryRepository, hotStockBuckets);
+        inOrder.verify(inventoryRepository).findByIdWithLock(1L);
+        inOrder.verify(hotStockBuckets).reserve(1L, 3, "cust1");
+        inOrder.verify(hotStockBuckets).reserve(1L, 3, "cust2");
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateReservations_SameItemLinesTakeOnce() {
+        BatchReservationRequest request = new BatchReservationRequest("cust123", List.of(
+                new BatchReservationLine(1L, 2),
+                new BatchReservationLine(1L, 3)));
+
+        when(hotStockBuckets.reserve(1L, 5, "cust123")).thenReturn(true);
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchReservationResponse response = reservationService.createReservations(request);
+
+        assertEquals(2, response.getReservations().size());
+        verify(hotStockBuckets, times(1)).reserve(anyLong(), anyInt(), anyString());
+        verify(inventoryCacheInvalidator).itemsChanged(Set.of(1L));
+    }
+
+    @Test
+    void testCreateReservation_OptimisticRetriesAfterConflict() {
+        optimisticMode();
+        when(inventoryRepository.findStockVersion(1L)).thenReturn(
+                Optional.of(new ItemStockVersion(5, true, 0, 7L)),
+                Optional.of(new ItemStockVersion(4, true, 0, 8L)));
+        when(inventoryRepository.reserveQuantityAtVersion(1L, 2, 7L)).thenReturn(0);
+        when(inventoryRepository.reserveQuantityAtVersion(1L, 2, 8L)).thenReturn(1);
+        when(reservationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservationService.createReservation(new ReservationRequest(1L, "cust123", 2));
+
+        verify(inventoryRepository, times(2)).reserveQuantityAtVersion(eq(1L), eq(2), anyLong());
+        // every attempt gets a transaction of its own, so the backoff between them holds none
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(inventoryRepository, never()).findByIdWithLock(any());
+        verify(inventoryMetrics).recordOptimisticReservation(2, true);
+    }
+
+    @Test
+    void testCreateReservation_OptimisticGivesUpAfterMaxAttempts() {
+        optimisticMode();
+        when(inventoryRepository.findStockVersion(1L)).thenReturn(Optional.of(new ItemStockVersion(5, true, 0, 7L)));
+        when(inventoryRepository.reserveQuantityAtVersion(1L, 2, 7L)).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> reservationService.createReservation(new ReservationRequest(1L, "cust123", 2)));
+
+        verify(inventoryRepository, times(3)).reserveQuantityAtVersion(1L, 2, 7L);
+        verify(inventoryMetrics).recordOptimisticReservation(3, false);
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateReservation_OptimisticInsufficientStockIsNotRetried() {
+        optimisticMode();
+        when(inventoryRepository.findStockVersion(1L)).thenReturn(Optional.of(new ItemStockVersion(1, true, 0, 7L)));
+
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> reservationService.createReservation(new ReservationRequest(1L, "cust123", 2)));
+
+        assertEquals("Insufficient stock. Available: 1, Requested: 2", e.getMessage());
+        verify(inventoryRepository, never()).reserveQuantityAtVersion(any(), any(), any());
+        verify(inventoryMetrics).insufficientStock(1L);
+    }
+
+    private void optimisticMode() {
+        ReflectionTestUtils.setField(reservationService, "reservationMode", ReservationMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(reservationService, "optimisticMaxAttempts", 3);
+        ReflectionTestUtils.setField(reservationService, "optimisticBackoffInitialMs", 0L);
+    }
+}
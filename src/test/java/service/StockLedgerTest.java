@@ -0,0 +1,94 @@
+package service;
+
+import com.ecommerce.springboot.exception.InsufficientStockException;
+import com.ecommerce.springboot.exception.ItemNotFoundException;
+import com.ecommerce.springboot.service.StockLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLedgerTest {
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = new StockLedger();
+        stockLedger.load(1L, 10, 0, true);
+    }
+
+    @Test
+    void testReserve_Success() {
+        stockLedger.reserve(1L, 4);
+
+        StockLedger.Level level = stockLedger.level(1L);
+        assertEquals(6, level.available());
+        assertEquals(4, level.reserved());
+    }
+
+    @Test
+    void testReserve_InsufficientStock() {
+        assertThrows(InsufficientStockException.class, () -> stockLedger.reserve(1L, 11));
+        assertEquals(10, stockLedger.level(1L).available());
+    }
+
+    @Test
+    void testReserve_InactiveItem() {
+        stockLedger.deactivate(1L);
+
+        assertThrows(ItemNotFoundException.class, () -> stockLedger.reserve(1L, 1));
+    }
+
+    @Test
+    void testRelease() {
+        stockLedger.reserve(1L, 4);
+        stockLedger.release(1L, 4);
+
+        StockLedger.Level level = stockLedger.level(1L);
+        assertEquals(10, level.available());
+        assertEquals(0, level.reserved());
+    }
+
+    @Test
+    void testAddSupply() {
+        stockLedger.addSupply(1L, 5);
+
+        assertEquals(15, stockLedger.level(1L).available());
+    }
+
+    @Test
+    void testConcurrentReserve_NeverOversells() throws Exception {
+        stockLedger.load(2L, 1000, 0, true);
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    stockLedger.reserve(2L, 1);
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException ignored) {
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        StockLedger.Level level = stockLedger.level(2L);
+        assertEquals(1000, reserved.get());
+        assertEquals(0, level.available());
+        assertEquals(1000, level.reserved());
+    }
+}
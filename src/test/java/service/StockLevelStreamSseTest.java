@@ -0,0 +1,161 @@
+package service;
+
+import com.ecommerce.springboot.SpringbootApplication;
+import com.ecommerce.springboot.dto.CreateInventoryItemRequest;
+import com.ecommerce.springboot.dto.ReservationRequest;
+import com.ecommerce.springboot.dto.StockLevelUpdate;
+import com.ecommerce.springboot.service.InventoryItemsChangedEvent;
+import com.ecommerce.springboot.service.InventoryService;
+import com.ecommerce.springboot.service.ReservationService;
+import com.ecommerce.springboot.service.StockLevelStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the Server-Sent Events frames a client actually receives. The
+ * scheduled publish is pushed out of the way, so the test decides when a tick
+ * happens.
+ */
+@SpringBootTest(classes = SpringbootApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "inventory.stock-stream.min-interval-ms=3600000",
+                "inventory.stock-stream.heartbeat-ms=3600000",
+                "spring.cache.type=none",
+                "spring.jpa.show-sql=false",
+                "spring.datasource.url=jdbc:h2:mem:stock-level-stream"
+        })
+class StockLevelStreamSseTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StockLevelStream stockLevelStream;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+    private Stream<String> body;
+
+    @AfterEach
+    void tearDown() {
+        // closing the body drops the connection, which completes the emitter on the server
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    @Test
+    void testUpdatesAreSentAsStockEventsAndCoalescedPerTick() throws Exception {
+        Long itemId = createItem("Stream Item", "STREAM-001", 10);
+        open(itemId);
+        assertEquals(10, nextUpdate().getAvailableQuantity());
+
+        reserve(itemId, 3);
+        stockLevelStream.publishChanges();
+        StockLevelUpdate update = nextUpdate();
+        assertEquals(itemId, update.getItemId());
+        assertEquals(7, update.getAvailableQuantity());
+        assertTrue(update.getActive());
+
+        // two commits before the next tick reach the client as one frame with the latest level
+        reserve(itemId, 1);
+        reserve(itemId, 2);
+        stockLevelStream.publishChanges();
+        assertEquals(4, nextUpdate().getAvailableQuantity());
+        stockLevelStream.publishChanges();
+        assertNull(lines.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testChangeCommittedOnAnotherNodeIsSent() throws Exception {
+        Long itemId = createItem("Remote Stream Item", "STREAM-002", 10);
+        open(itemId);
+        assertEquals(10, nextUpdate().getAvailableQuantity());
+
+        // the other node's commit raises no local event, only the broadcast one
+        jdbcTemplate.update("UPDATE inventory_items SET available_quantity = 6, reserved_quantity = 4 WHERE id = ?",
+                itemId);
+        applicationEventPublisher.publishEvent(InventoryItemsChangedEvent.remoteOf(List.of(itemId)));
+        stockLevelStream.publishChanges();
+
+        assertEquals(6, nextUpdate().getAvailableQuantity());
+    }
+
+    private void open(Long itemId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/inventory/stream?ids=" + itemId))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        body = response.body();
+        Thread reader = new Thread(() -> body.forEach(lines::add), "sse-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private StockLevelUpdate nextUpdate() throws Exception {
+        String event = null;
+        String data = null;
+        for (String line = poll(); !line.isEmpty(); line = poll()) {
+            if (line.startsWith("event:")) {
+                event = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                data = line.substring("data:".length());
+            }
+        }
+        assertEquals("stock", event);
+        assertNotNull(data);
+        return objectMapper.readValue(data, StockLevelUpdate.class);
+    }
+
+    private String poll() throws InterruptedException {
+        String line = lines.poll(5, TimeUnit.SECONDS);
+        assertNotNull(line, "no SSE frame within 5 s");
+        return line;
+    }
+
+    private Long createItem(String name, String sku, int quantity) {
+        return inventoryService.createInventoryItem(new CreateInventoryItemRequest(
+                name, sku, "Stream test item", BigDecimal.TEN, quantity)).getId();
+    }
+
+    private void reserve(Long itemId, int quantity) {
+        reservationService.createReservation(new ReservationRequest(itemId, "cust1", quantity));
+    }
+}
@@ -0,0 +1,106 @@
+package service;
+
+import com.ecommerce.springboot.dto.StockLevelUpdate;
+import com.ecommerce.springboot.service.AvailabilitySnapshot;
+import com.ecommerce.springboot.service.InventoryItemsChangedEvent;
+import com.ecommerce.springboot.service.StockLevelStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StockLevelStreamTest {
+
+    @InjectMocks
+    private StockLevelStream stockLevelStream;
+
+    @Mock
+    private AvailabilitySnapshot availabilitySnapshot;
+
+    @Captor
+    private ArgumentCaptor<List<Long>> loaded;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(stockLevelStream, "meterRegistry", new SimpleMeterRegistry());
+        stockLevelStream.init();
+
+        when(availabilitySnapshot.currentLevels(anyCollection())).thenAnswer(invocation -> {
+            List<Long> itemIds = List.copyOf(invocation.getArgument(0));
+            return itemIds.stream().map(itemId -> new StockLevelUpdate(itemId, 5, true)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockLevelStream.shutdown();
+    }
+
+    @Test
+    void testSubscribeStartsWithCurrentLevels() {
+        assertNotNull(stockLevelStream.subscribe(List.of(1L, 2L)));
+
+        verify(availabilitySnapshot).currentLevels(Set.of(1L, 2L));
+        assertEquals(1, stockLevelStream.subscriberCount());
+    }
+
+    @Test
+    void testChangesAreCoalescedPerItemAndOnlyForSubscribedItems() {
+        stockLevelStream.subscribe(List.of(1L));
+        clearInvocations(availabilitySnapshot);
+
+        stockLevelStream.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L)));
+        stockLevelStream.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L, 2L)));
+        stockLevelStream.onItemsChanged(InventoryItemsChangedEvent.of(List.of(1L)));
+        stockLevelStream.publishChanges();
+        stockLevelStream.publishChanges();
+
+        verify(availabilitySnapshot, times(1)).currentLevels(List.of(1L));
+        verifyNoMoreInteractions(availabilitySnapshot);
+    }
+
+    @Test
+    void testAllItemsChangedMarksEverySubscribedItem() {
+        stockLevelStream.subscribe(List.of(1L));
+        stockLevelStream.subscribe(List.of(2L));
+        clearInvocations(availabilitySnapshot);
+
+        stockLevelStream.onItemsChanged(InventoryItemsChangedEvent.allItems());
+        stockLevelStream.publishChanges();
+
+        verify(availabilitySnapshot).currentLevels(loaded.capture());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(loaded.getValue()));
+    }
+
+    @Test
+    void testChangesFromOtherNodesAreMarkedToo() {
+        stockLevelStream.subscribe(List.of(1L));
+        clearInvocations(availabilitySnapshot);
+
+        stockLevelStream.onItemsChanged(InventoryItemsChangedEvent.remoteOf(List.of(1L, 3L)));
+        stockLevelStream.publishChanges();
+
+        verify(availabilitySnapshot).currentLevels(List.of(1L));
+    }
+
+    @Test
+    void testSubscribersBeyondTheLimitAreRefused() {
+        ReflectionTestUtils.setField(stockLevelStream, "maxSubscribers", 1);
+
+        SseEmitter first = stockLevelStream.subscribe(List.of(1L));
+        assertNotNull(first);
+        assertNull(stockLevelStream.subscribe(List.of(1L)));
+        assertEquals(1, stockLevelStream.subscriberCount());
+    }
+}
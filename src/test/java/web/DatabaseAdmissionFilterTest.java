@@ -0,0 +1,100 @@
+package web;
+
+import com.ecommerce.springboot.web.DatabaseAdmissionFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseAdmissionFilterTest {
+
+    private DatabaseAdmissionFilter filter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DatabaseAdmissionFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(filter, "maxWaitMs", 0L);
+        ReflectionTestUtils.invokeMethod(filter, "registerMeters");
+    }
+
+    @Test
+    void testAsyncRequestHoldsItsPermitUntilCompletion() throws Exception {
+        MockHttpServletRequest export = request("/api/inventory/export");
+        filter.doFilter(export, new MockHttpServletResponse(), startAsync());
+
+        assertEquals(1, inFlight());
+        assertEquals(503, send("/api/inventory/1"));
+
+        export.getAsyncContext().complete();
+
+        assertEquals(0, inFlight());
+        assertEquals(200, send("/api/inventory/1"));
+    }
+
+    @Test
+    void testAsyncTimeoutReleasesThePermit() throws Exception {
+        MockHttpServletRequest reservation = request("/api/reservations");
+        filter.doFilter(reservation, new MockHttpServletResponse(), startAsync());
+
+        ((MockAsyncContext) reservation.getAsyncContext()).getListeners()
+                .forEach(listener -> {
+                    try {
+                        listener.onTimeout(null);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+        // a later completion must not release a second permit
+        reservation.getAsyncContext().complete();
+
+        assertEquals(0, inFlight());
+        assertEquals(200, send("/api/inventory/1"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testStockStreamReleasesItsPermitWhenTheServletThreadReturns() throws Exception {
+        MockHttpServletRequest stream = request("/api/inventory/stream");
+        filter.doFilter(stream, new MockHttpServletResponse(), startAsync());
+
+        assertTrue(stream.isAsyncStarted());
+        assertEquals(0, inFlight());
+        assertEquals(200, send("/api/inventory/1"));
+    }
+
+    private int send(String uri) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri), response, (req, res) -> {
+        });
+        return response.getStatus();
+    }
+
+    private static FilterChain startAsync() {
+        return (req, res) -> req.startAsync();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("inventory.admission.in.flight").gauge().value();
+    }
+}